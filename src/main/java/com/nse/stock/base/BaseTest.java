@@ -1,11 +1,18 @@
 package com.nse.stock.base;
 
+import com.nse.stock.listeners.ExtentReportListener;
+import com.nse.stock.pages.NSEHomePage;
+import com.nse.stock.utils.BrowserResourceSampler;
+import com.nse.stock.utils.BrowserUnavailableException;
 import com.nse.stock.utils.ConfigReader;
 import com.nse.stock.utils.DriverManager;
+import com.nse.stock.utils.ManagedSession;
 import com.nse.stock.utils.ScreenshotUtils;
+import com.nse.stock.utils.SessionCookieCache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.testng.SkipException;
 import org.testng.annotations.*;
 
 import java.util.concurrent.TimeUnit;
@@ -19,10 +26,11 @@ public class BaseTest {
     private static final Logger logger = LogManager.getLogger(BaseTest.class);
     protected WebDriver driver;
     protected ConfigReader configReader;
+    private String resetStrategy;
     
     @BeforeClass
-    @Parameters({"browser"})
-    public void setUpClass(@Optional("chrome") String browser) {
+    @Parameters({"browser", "resetStrategy"})
+    public void setUpClass(@Optional("chrome") String browser, @Optional("") String resetStrategy) {
         logger.info("Setting up test class with browser: {}", browser);
         configReader = ConfigReader.getInstance();
         
@@ -30,6 +38,11 @@ public class BaseTest {
         if (browser != null && !browser.isEmpty()) {
             System.setProperty("browser", browser);
         }
+        
+        // Suite XML reset strategy wins over config.properties
+        this.resetStrategy = resetStrategy != null && !resetStrategy.isEmpty()
+                ? resetStrategy : configReader.getDriverResetStrategy();
+        logger.info("Browser reset strategy between tests: {}", this.resetStrategy);
     }
     
     @BeforeMethod
@@ -38,7 +51,7 @@ public class BaseTest {
         logger.info("Starting test setup for browser: {}", browser);
         
         try {
-            // Initialize WebDriver
+            // Initialize WebDriver (borrowed from the session pool when enabled)
             driver = DriverManager.getDriver(browser);
             
             // Configure timeouts for Selenium 3.x
@@ -52,8 +65,14 @@ public class BaseTest {
             // Maximize window
             driver.manage().window().maximize();
             
+            // Measure browser memory and CPU while this test runs
+            BrowserResourceSampler.beginTestWindow(DriverManager.getCurrentSession());
+            
             logger.info("WebDriver setup completed successfully");
             
+        } catch (BrowserUnavailableException e) {
+            logger.warn("Skipping test, {}", e.getMessage());
+            throw new SkipException(e.getMessage());
         } catch (Exception e) {
             logger.error("Failed to setup WebDriver: {}", e.getMessage(), e);
             throw new RuntimeException("WebDriver setup failed", e);
@@ -65,15 +84,26 @@ public class BaseTest {
         logger.info("Starting test teardown");
         
         try {
+            BrowserResourceSampler.ResourceUsage usage = BrowserResourceSampler.endTestWindow();
+            if (usage != null) {
+                ExtentReportListener.addTestInfo("Browser Memory", usage.formatMemory());
+                ExtentReportListener.addTestInfo("Browser CPU", usage.formatCpu());
+                logger.info("Browser resource usage: memory {}, CPU {}", usage.formatMemory(), usage.formatCpu());
+            }
+            ManagedSession session = DriverManager.getCurrentSession();
+            if (session != null && session.getCpuSet() != null) {
+                ExtentReportListener.addTestInfo("Browser CPU Cores", session.getCpuSet());
+            }
+            
             if (driver != null) {
                 // Take screenshot before closing (optional)
                 if (configReader.isScreenshotOnPass()) {
                     ScreenshotUtils.takeScreenshot(driver, "test_completed");
                 }
                 
-                // Close browser
-                DriverManager.quitDriver();
-                logger.info("WebDriver closed successfully");
+                // Soft-reset and keep the browser, or close it, depending on the reset strategy
+                DriverManager.releaseDriver(resetStrategy);
+                logger.info("WebDriver released successfully");
             }
         } catch (Exception e) {
             logger.error("Error during teardown: {}", e.getMessage(), e);
@@ -101,13 +131,9 @@ public class BaseTest {
         logger.info("Navigating to NSE website: {}", baseUrl);
         driver.get(baseUrl);
         
-        // Wait for page to load
-        try {
-            Thread.sleep(3000); // Allow time for page to fully load
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("Thread interrupted while waiting for page load");
-        }
+        // Wait for the elements tests need rather than the full page load
+        new NSEHomePage(driver).waitForHomePageReady();
+        SessionCookieCache.capture(driver, DriverManager.getCurrentSession().getBrowser());
     }
     
     /**
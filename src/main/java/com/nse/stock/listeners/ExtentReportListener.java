@@ -22,14 +22,15 @@ import java.io.File;
 public class ExtentReportListener implements ITestListener {
     
     private static final Logger logger = LogManager.getLogger(ExtentReportListener.class);
-    private static ExtentReports extentReports;
+    private static volatile ExtentReports extentReports;
     private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
     private static final ConfigReader configReader = ConfigReader.getInstance();
     
     /**
      * Initialize ExtentReports before test suite starts
+     * Synchronized because the suite bootstrap and the first test may race here
      */
-    public static void initializeExtentReports() {
+    public static synchronized void initializeExtentReports() {
         if (extentReports == null) {
             String reportPath = configReader.getExtentReportPath();
 
@@ -150,7 +151,14 @@ public class ExtentReportListener implements ITestListener {
         ExtentTest test = extentTest.get();
         if (test != null) {
             test.log(Status.SKIP, "Test skipped");
-            test.log(Status.SKIP, result.getThrowable());
+            
+            // ExtentReports cannot render a throwable without a message
+            Throwable throwable = result.getThrowable();
+            if (throwable != null && throwable.getMessage() != null) {
+                test.log(Status.SKIP, throwable);
+            } else if (throwable != null) {
+                test.log(Status.SKIP, throwable.getClass().getName());
+            }
         }
         
         logger.warn("Test skipped: {} - {}", result.getMethod().getMethodName(), 
@@ -0,0 +1,179 @@
+package com.nse.stock.listeners;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.nse.stock.utils.ConfigReader;
+import com.nse.stock.utils.DriverManager;
+import com.nse.stock.utils.PageLoadTimings;
+import com.nse.stock.utils.TestDataReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suite listener that warms up shared singletons and browsers before the first test
+ * Runs initialization concurrently so no test thread absorbs the start-up latency
+ */
+public class SuiteBootstrapListener implements ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(SuiteBootstrapListener.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+
+    /**
+     * Called before the suite starts
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        if (!configReader.isSuiteBootstrapEnabled()) {
+            logger.info("Suite bootstrap disabled");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<String, Callable<Object>> tasks = new LinkedHashMap<>();
+
+        tasks.put("TestDataReader", () -> TestDataReader.getInstance());
+        tasks.put("ExtentReports", () -> {
+            ExtentReportListener.initializeExtentReports();
+            return null;
+        });
+
+        int browsersPerType = configReader.getSuitePrewarmBrowsers();
+        // For htmlunit the binary and driver server steps do nothing and pre-warmed
+        // sessions are in-process HtmlUnitDriver instances
+        for (String browser : getSuiteBrowsers(suite)) {
+            tasks.put("Browser " + browser, () -> {
+                DriverManager.setupDriverBinary(browser);
+                DriverManager.startDriverService(browser);
+                if (configReader.isDriverPoolEnabled() && browsersPerType > 0) {
+                    return DriverManager.prewarmPool(browser, browsersPerType);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size(), new BootstrapThreadFactory());
+        try {
+            List<String> names = new ArrayList<>(tasks.keySet());
+            List<Future<Object>> futures = executor.invokeAll(
+                    new ArrayList<>(tasks.values()), configReader.getSuiteBootstrapTimeout(), TimeUnit.SECONDS);
+
+            for (int i = 0; i < futures.size(); i++) {
+                logOutcome(names.get(i), futures.get(i));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Suite bootstrap interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Suite bootstrap for '{}' completed in {} ms",
+                suite.getName(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Called after the suite finishes
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverManager.shutdown();
+
+        int launches = DriverManager.getBrowserLaunchCount();
+        int avoided = DriverManager.getLaunchesAvoidedCount();
+        logger.info("Browser launches: {}, launches avoided by session reuse: {}", launches, avoided);
+
+        ExtentReports extentReports = ExtentReportListener.getExtentReports();
+        extentReports.setSystemInfo("Browser Launches", String.valueOf(launches));
+        extentReports.setSystemInfo("Browser Launches Avoided", String.valueOf(avoided));
+        extentReports.setSystemInfo("Sessions Replaced by Watchdog", String.valueOf(DriverManager.getWatchdogReplacementCount()));
+        for (Map.Entry<String, String> entry : DriverManager.getBulkheadMetrics().entrySet()) {
+            logger.info("Bulkhead [{}]: {}", entry.getKey(), entry.getValue());
+            extentReports.setSystemInfo("Bulkhead [" + entry.getKey() + "]", entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : DriverManager.getGridNodeMetrics().entrySet()) {
+            logger.info("Grid Node [{}]: {}", entry.getKey(), entry.getValue());
+            extentReports.setSystemInfo("Grid Node [" + entry.getKey() + "]", entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : PageLoadTimings.compareProfiles().entrySet()) {
+            logger.info("{}: {}", entry.getKey(), entry.getValue());
+            extentReports.setSystemInfo(entry.getKey(), entry.getValue());
+        }
+        ExtentReportListener.flushReports();
+    }
+
+    /**
+     * Get the browsers the suite's tests run on
+     * @param suite Suite about to start
+     * @return Browsers named by the tests' (or the suite's) browser parameter,
+     *         or parallel.browsers when the suite names none
+     */
+    private Set<String> getSuiteBrowsers(ISuite suite) {
+        Set<String> browsers = new LinkedHashSet<>();
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            String browser = test.getParameter("browser");
+            if (browser != null && !browser.trim().isEmpty()) {
+                browsers.add(browser.trim().toLowerCase());
+            }
+        }
+        if (browsers.isEmpty()) {
+            for (String browser : configReader.getParallelBrowsers()) {
+                if (!browser.trim().isEmpty()) {
+                    browsers.add(browser.trim().toLowerCase());
+                }
+            }
+        }
+        return browsers;
+    }
+
+    /**
+     * Log the result of a single bootstrap task; failures are not fatal
+     * @param name Task name
+     * @param future Task future
+     */
+    private void logOutcome(String name, Future<Object> future) {
+        if (future.isCancelled()) {
+            logger.warn("Bootstrap task timed out: {}", name);
+            return;
+        }
+        try {
+            Object result = future.get();
+            logger.info("Bootstrap task completed: {}{}", name,
+                    result instanceof Integer ? " (" + result + " browser(s) pre-launched)" : "");
+        } catch (ExecutionException e) {
+            logger.warn("Bootstrap task failed: {} - {}", name, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Daemon thread factory so a hung bootstrap task cannot keep the JVM alive
+     */
+    private static class BootstrapThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "suite-bootstrap-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
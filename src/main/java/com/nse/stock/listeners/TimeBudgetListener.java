@@ -0,0 +1,97 @@
+package com.nse.stock.listeners;
+
+import com.nse.stock.utils.ConfigReader;
+import com.nse.stock.utils.TestTimeBudget;
+import com.nse.stock.utils.TimeBudgetExceededException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.annotations.CustomAttribute;
+
+/**
+ * Gives every test method a time budget and fails it once the budget is used up
+ * The budget comes from the test's timeBudgetSeconds attribute
+ * (@Test(attributes = @CustomAttribute(name = "timeBudgetSeconds", values = "60"))),
+ * else from the timeBudgetSeconds suite or test parameter, else from
+ * test.time.budget.seconds. Page objects often catch exceptions and carry on,
+ * so a test whose wait was refused is marked failed here even if it returned normally.
+ */
+public class TimeBudgetListener implements IInvokedMethodListener {
+
+    public static final String BUDGET_ATTRIBUTE = "timeBudgetSeconds";
+
+    private static final Logger logger = LogManager.getLogger(TimeBudgetListener.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+
+    /**
+     * Called before a test or configuration method runs
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        long budgetSeconds = getBudgetSeconds(testResult);
+        if (budgetSeconds > 0) {
+            TestTimeBudget.start(testResult.getMethod().getMethodName(), budgetSeconds * 1000L);
+        }
+    }
+
+    /**
+     * Called after a test or configuration method runs
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        TestTimeBudget budget = TestTimeBudget.end();
+        if (budget == null) {
+            return;
+        }
+        ExtentReportListener.addTestInfo("Time Budget", String.format("%d of %d ms used",
+                budget.getElapsedMillis(), budget.getBudgetMillis()));
+
+        Throwable failure = testResult.getThrowable();
+        if (failure instanceof TimeBudgetExceededException || testResult.getStatus() == ITestResult.SKIP) {
+            return;
+        }
+        if (budget.wasCutShort() || (failure != null && budget.getRemainingMillis() <= 0)) {
+            String message = budget.describe("at the end of the test");
+            logger.error(message);
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new TimeBudgetExceededException(message, failure));
+        } else if (budget.getRemainingMillis() <= 0) {
+            logger.warn(budget.describe("by the last steps"));
+        }
+    }
+
+    /**
+     * Resolve the budget of a test method
+     * @param testResult Result of the test about to run
+     * @return Budget in seconds, 0 for none
+     */
+    private long getBudgetSeconds(ITestResult testResult) {
+        for (CustomAttribute attribute : testResult.getMethod().getAttributes()) {
+            if (BUDGET_ATTRIBUTE.equals(attribute.name()) && attribute.values().length > 0) {
+                return parseSeconds(attribute.values()[0], "attribute of " + testResult.getMethod().getMethodName());
+            }
+        }
+        String parameter = testResult.getTestContext().getCurrentXmlTest().getParameter(BUDGET_ATTRIBUTE);
+        if (parameter != null && !parameter.trim().isEmpty()) {
+            return parseSeconds(parameter, "suite parameter");
+        }
+        return configReader.getTestTimeBudgetSeconds();
+    }
+
+    private long parseSeconds(String value, String source) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid {} {}: {}", BUDGET_ATTRIBUTE, source, value);
+            return configReader.getTestTimeBudgetSeconds();
+        }
+    }
+}
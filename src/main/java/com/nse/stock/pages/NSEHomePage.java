@@ -1,6 +1,12 @@
 package com.nse.stock.pages;
 
 import com.nse.stock.utils.ConfigReader;
+import com.nse.stock.utils.DriverManager;
+import com.nse.stock.utils.LocatorChain;
+import com.nse.stock.utils.ManagedSession;
+import com.nse.stock.utils.PageReadiness;
+import com.nse.stock.utils.SessionCookieCache;
+import com.nse.stock.utils.WaitUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -8,8 +14,6 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.util.concurrent.TimeUnit;
 
@@ -21,9 +25,13 @@ public class NSEHomePage {
     
     private static final Logger logger = LogManager.getLogger(NSEHomePage.class);
     private WebDriver driver;
-    private WebDriverWait wait;
     private ConfigReader configReader;
     
+    // The search input is what tests need from the home page
+    private static final By SEARCH_INPUT = By.xpath(
+        "//input[contains(@placeholder,'Search')] | //input[@id='search-box'] | " +
+        "//input[contains(@class,'search')] | //input[@name='search']");
+    
     // Page Elements
     @FindBy(id = "search-box")
     private WebElement searchBox;
@@ -40,17 +48,10 @@ public class NSEHomePage {
     @FindBy(xpath = "//a[contains(@href,'get-quotes')]")
     private WebElement getQuotesLink;
     
-    @FindBy(xpath = "//div[contains(@class,'cookie-banner')]//button[contains(text(),'Accept')]")
-    private WebElement acceptCookiesButton;
-    
-    @FindBy(xpath = "//div[contains(@class,'modal')]//button[contains(@class,'close')]")
-    private WebElement closeModalButton;
-    
     // Constructor
     public NSEHomePage(WebDriver driver) {
         this.driver = driver;
         this.configReader = ConfigReader.getInstance();
-        this.wait = new WebDriverWait(driver, configReader.getExplicitWait());
         PageFactory.initElements(driver, this);
         logger.info("NSE Home Page initialized");
     }
@@ -62,83 +63,53 @@ public class NSEHomePage {
         String url = configReader.getNSEBaseUrl();
         logger.info("Navigating to NSE website: {}", url);
         driver.get(url);
+        // Popups and cookie banners are dismissed by the session after every navigation
+        // (overlay.auto.dismiss.enabled), including ones appearing while the page loads
+        waitForHomePageReady();
         
-        // Handle any popups or cookies
-        handleInitialPopups();
+        // Share the session cookies with later sessions of this browser
+        SessionCookieCache.capture(driver, getBrowserName());
     }
     
     /**
-     * Handle initial popups, cookies, and modals
+     * Open the quote page of a stock without going through the home page
+     * Uses the session cookies captured from an earlier home page visit; the
+     * home page is visited first when no fresh cookies exist or when the
+     * quote page comes back as a block page
+     * @param stockSymbol Stock symbol
      */
-    private void handleInitialPopups() {
-        try {
-            // Wait for page to load completely
-            Thread.sleep(5000);
-
-            // Handle multiple types of overlays and popups
-            handleCookieConsent();
-            handleNotificationPopups();
-            handleModalDialogs();
-            handleAdvertisements();
-
-        } catch (Exception e) {
-            logger.warn("Error handling initial popups: {}", e.getMessage());
-        }
-    }
-
-    private void handleCookieConsent() {
-        try {
-            WebElement cookieButton = wait.until(
-                ExpectedConditions.elementToBeClickable(
-                    By.xpath("//button[contains(text(),'Accept') or contains(text(),'OK') or contains(@class,'cookie') or contains(@id,'cookie')]")
-                )
-            );
-            cookieButton.click();
-            logger.info("Cookie consent accepted");
-        } catch (Exception e) {
-            logger.debug("No cookie consent popup found");
+    public void openQuotePage(String stockSymbol) {
+        String browser = getBrowserName();
+        if (!SessionCookieCache.inject(driver, browser)) {
+            navigateToNSE();
         }
-    }
-
-    private void handleNotificationPopups() {
-        try {
-            WebElement notificationClose = driver.findElement(
-                By.xpath("//button[contains(@class,'notification') or contains(text(),'No Thanks') or contains(@aria-label,'notification')]")
-            );
-            if (notificationClose.isDisplayed()) {
-                notificationClose.click();
-                logger.info("Notification popup closed");
-            }
-        } catch (Exception e) {
-            logger.debug("No notification popup found");
+        navigateToGetQuotes(stockSymbol);
+        
+        if (SessionCookieCache.isBlockPage(driver)) {
+            logger.warn("Quote page for {} was blocked, warming up NSE session cookies again", stockSymbol);
+            SessionCookieCache.invalidate(browser);
+            navigateToNSE();
+            navigateToGetQuotes(stockSymbol);
         }
     }
-
-    private void handleModalDialogs() {
-        try {
-            WebElement closeModal = driver.findElement(
-                By.xpath("//button[contains(@class,'close') or contains(@aria-label,'close') or contains(@class,'modal-close')]")
-            );
-            if (closeModal.isDisplayed()) {
-                closeModal.click();
-                logger.info("Modal dialog closed");
-            }
-        } catch (Exception e) {
-            logger.debug("No modal dialog found");
-        }
+    
+    private String getBrowserName() {
+        ManagedSession session = DriverManager.getCurrentSession();
+        return session != null ? session.getBrowser() : configReader.getBrowser();
     }
-
-    private void handleAdvertisements() {
+    
+    /**
+     * Wait until the home page is usable, i.e. its search input is present
+     * With the eager or none page load strategy driver.get() returns before
+     * ads and analytics finish loading, so readiness is decided here
+     */
+    public void waitForHomePageReady() {
+        long startTime = System.currentTimeMillis();
         try {
-            WebElement adClose = driver.findElement(
-                By.xpath("//button[contains(@class,'ad-close') or contains(@id,'ad-close') or contains(text(),'Skip Ad')]")
-            );
-            if (adClose.isDisplayed()) {
-                adClose.click();
-                logger.info("Advertisement closed");
-            }
+            WaitUtils.waitForElementToBePresent(driver, SEARCH_INPUT);
+            logger.debug("Home page ready in {} ms", System.currentTimeMillis() - startTime);
         } catch (Exception e) {
-            logger.debug("No advertisement found");
+            logger.warn("Search input did not appear on home page: {}", e.getMessage());
         }
     }
     
@@ -156,10 +127,12 @@ public class NSEHomePage {
             if (searchField != null) {
                 // Clear and enter stock symbol
                 searchField.clear();
+                // Count the suggestion request that typing triggers
+                PageReadiness.instrument(driver);
                 searchField.sendKeys(stockSymbol);
                 
-                // Wait for suggestions to appear
-                Thread.sleep(2000);
+                // Let the suggestion request and rendering finish
+                PageReadiness.waitForSettled(driver);
                 
                 // Click on the first suggestion or press enter
                 clickFirstSuggestion(stockSymbol);
@@ -181,27 +154,18 @@ public class NSEHomePage {
      * @return WebElement of search input
      */
     private WebElement findSearchInput() {
-        String[] searchLocators = {
+        WebElement element = LocatorChain.ofXpaths("NSEHomePage", "searchInput",
             "//input[@placeholder='Search for stocks, indices, ETFs & more']",
             "//input[contains(@placeholder,'Search')]",
             "//input[@id='search-box']",
             "//input[contains(@class,'search')]",
             "//input[@name='search']"
-        };
-        
-        for (String locator : searchLocators) {
-            try {
-                WebElement element = wait.until(
-                    ExpectedConditions.elementToBeClickable(By.xpath(locator))
-                );
-                logger.debug("Found search input using locator: {}", locator);
-                return element;
-            } catch (Exception e) {
-                logger.debug("Search input not found with locator: {}", locator);
-            }
+        ).resolve(driver, TimeUnit.SECONDS.toMillis(configReader.getExplicitWait()),
+            candidate -> candidate.isDisplayed() && candidate.isEnabled() ? candidate : null);
+        if (element == null) {
+            logger.debug("Search input not found with any locator");
         }
-        
-        return null;
+        return element;
     }
     
     /**
@@ -211,11 +175,9 @@ public class NSEHomePage {
     private void clickFirstSuggestion(String stockSymbol) {
         try {
             // Wait for suggestions to appear
-            WebElement suggestion = wait.until(
-                ExpectedConditions.elementToBeClickable(
-                    By.xpath("//div[contains(@class,'suggestion') or contains(@class,'dropdown')]" +
-                            "//span[contains(text(),'" + stockSymbol + "')]")
-                )
+            WebElement suggestion = WaitUtils.waitForElementToBeClickable(driver,
+                By.xpath("//div[contains(@class,'suggestion') or contains(@class,'dropdown')]" +
+                        "//span[contains(text(),'" + stockSymbol + "')]")
             );
             suggestion.click();
             logger.info("Clicked on suggestion for: {}", stockSymbol);
@@ -235,12 +197,14 @@ public class NSEHomePage {
         String url = configReader.getNSEGetQuoteUrl() + "?symbol=" + stockSymbol;
         logger.info("Navigating directly to get quotes: {}", url);
         driver.get(url);
+        // Count the quote data requests the page starts after it was returned
+        PageReadiness.instrument(driver);
         
-        // Wait for page to load
+        // The quote page is ready once its price block is present
         try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            WaitUtils.waitForElementToBePresent(driver, StockDetailsPage.PRICE_BLOCK);
+        } catch (Exception e) {
+            logger.warn("Price block did not appear on quote page: {}", e.getMessage());
         }
     }
     
@@ -250,8 +214,7 @@ public class NSEHomePage {
      */
     public boolean isPageLoaded() {
         try {
-            wait.until(ExpectedConditions.titleContains("NSE"));
-            return true;
+            return WaitUtils.waitForTitleToContain(driver, "NSE");
         } catch (Exception e) {
             logger.error("Page not loaded properly: {}", e.getMessage());
             return false;
@@ -2,18 +2,32 @@ package com.nse.stock.pages;
 
 import com.nse.stock.models.StockInfo;
 import com.nse.stock.utils.ConfigReader;
+import com.nse.stock.utils.LocatorChain;
+import com.nse.stock.utils.PageReadiness;
+import com.nse.stock.utils.PageSnapshot;
+import com.nse.stock.utils.TestTimeBudget;
+import com.nse.stock.utils.WaitUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Page Object Model for NSE Stock Details Page
@@ -23,9 +37,78 @@ public class StockDetailsPage {
     
     private static final Logger logger = LogManager.getLogger(StockDetailsPage.class);
     private WebDriver driver;
-    private WebDriverWait wait;
     private ConfigReader configReader;
     
+    // The price block is all this page needs before data can be extracted; wait for any
+    // match to be visible, the union's first match in document order may be hidden
+    static final By PRICE_BLOCK = By.xpath(
+        "//span[contains(@class,'price')] | //span[contains(text(),'₹')] | //*[contains(@class,'stock-price')]");
+    
+    // Fallback XPaths of every field extractStockInfo reads, in order of preference
+    private static final Map<String, String[]> FIELD_XPATHS = new LinkedHashMap<>();
+    // Number of trailing XPaths per field that also match other elements; the locator chain keeps them last
+    private static final Map<String, Integer> FIELD_CATCH_ALLS = new HashMap<>();
+    static {
+        FIELD_XPATHS.put("stockSymbol", new String[]{
+            "//h1[contains(@class,'symbol')] | //span[contains(@class,'symbol')]",
+            "//div[contains(@class,'stock-info')]//h1",
+            "//title | //h1"});
+        FIELD_CATCH_ALLS.put("stockSymbol", 1);
+        FIELD_XPATHS.put("companyName", new String[]{
+            "//div[contains(@class,'company-name')]",
+            "//span[contains(@class,'company')]",
+            "//h2[contains(@class,'company')] | //h3[contains(@class,'company')]"});
+        FIELD_XPATHS.put("currentPrice", new String[]{
+            "//span[contains(@class,'price') and contains(text(),'₹')] | //span[@id='lastPrice']",
+            "//div[contains(@class,'price')]//span[contains(text(),'₹')]",
+            "//*[contains(@class,'current-price')] | //*[contains(@class,'ltp')]",
+            "//span[contains(text(),'₹')]"});
+        FIELD_CATCH_ALLS.put("currentPrice", 1);
+        FIELD_XPATHS.put("priceChange", new String[]{
+            "//span[contains(@class,'change') and not(contains(@class,'percent'))]",
+            "//span[contains(@class,'pChange')]",
+            "//*[contains(@class,'price-change')]"});
+        FIELD_CATCH_ALLS.put("priceChange", 1);
+        FIELD_XPATHS.put("percentageChange", new String[]{
+            "//span[contains(@class,'percent') or contains(text(),'%')]",
+            "//span[contains(@class,'pChange') and contains(text(),'%')]"});
+        FIELD_XPATHS.put("52WeekHigh", weekPriceXpaths("52 Week High", "52WH"));
+        FIELD_XPATHS.put("52WeekLow", weekPriceXpaths("52 Week Low", "52WL"));
+        FIELD_CATCH_ALLS.put("52WeekHigh", 2);
+        FIELD_CATCH_ALLS.put("52WeekLow", 2);
+        FIELD_XPATHS.put("volume", new String[]{
+            "//span[contains(text(),'Volume')]/following-sibling::span",
+            "//td[contains(text(),'Volume')]/following-sibling::td",
+            "//*[contains(@class,'volume')]"});
+        FIELD_CATCH_ALLS.put("volume", 1);
+        FIELD_XPATHS.put("marketCap", new String[]{
+            "//span[contains(text(),'Market Cap')]/following-sibling::span",
+            "//td[contains(text(),'Market Cap')]/following-sibling::td",
+            "//*[contains(@class,'market-cap')]"});
+        FIELD_CATCH_ALLS.put("marketCap", 1);
+    }
+    
+    // Argument: field -> XPaths. Answers field -> rendered texts of the matches, XPath by XPath in order
+    private static final String BATCH_SCRIPT =
+            "var fields = arguments[0], result = {};" +
+            "for (var field in fields) {" +
+            "  var texts = [];" +
+            "  for (var i = 0; i < fields[field].length; i++) {" +
+            "    try {" +
+            "      var snapshot = document.evaluate(fields[field][i], document, null," +
+            "          XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      for (var j = 0; j < snapshot.snapshotLength && j < 50; j++) {" +
+            "        var node = snapshot.snapshotItem(j);" +
+            "        if (node.getClientRects && node.getClientRects().length === 0) { continue; }" +
+            "        var text = String(node.innerText || node.textContent || '').trim();" +
+            "        if (text) { texts.push(text); }" +
+            "      }" +
+            "    } catch (e) { }" +
+            "  }" +
+            "  result[field] = texts;" +
+            "}" +
+            "return result;";
+    
     // Stock Price Elements
     @FindBy(xpath = "//span[contains(@class,'price') or @id='lastPrice']")
     private WebElement currentPrice;
@@ -66,7 +149,6 @@ public class StockDetailsPage {
     public StockDetailsPage(WebDriver driver) {
         this.driver = driver;
         this.configReader = ConfigReader.getInstance();
-        this.wait = new WebDriverWait(driver, configReader.getExplicitWait());
         PageFactory.initElements(driver, this);
         logger.info("Stock Details Page initialized");
     }
@@ -77,20 +159,10 @@ public class StockDetailsPage {
     public void waitForPageLoad() {
         try {
             // Wait for any price element to be visible
-            wait.until(ExpectedConditions.or(
-                ExpectedConditions.visibilityOfElementLocated(
-                    By.xpath("//span[contains(@class,'price')]")
-                ),
-                ExpectedConditions.visibilityOfElementLocated(
-                    By.xpath("//span[contains(text(),'₹')]")
-                ),
-                ExpectedConditions.visibilityOfElementLocated(
-                    By.xpath("//*[contains(@class,'stock-price')]")
-                )
-            ));
+            WaitUtils.waitForAnyElementToBeVisible(driver, PRICE_BLOCK);
             
-            // Additional wait for dynamic content
-            Thread.sleep(3000);
+            // Let the remaining quote data requests finish rendering
+            PageReadiness.waitForSettled(driver);
             logger.info("Stock details page loaded successfully");
             
         } catch (Exception e) {
@@ -100,40 +172,63 @@ public class StockDetailsPage {
     
     /**
      * Extract complete stock information
+     * With extraction.mode=batch all fields are read in one script call, and
+     * with extraction.mode=snapshot from one copy of the page source, so they
+     * come from the same instant; fields either misses fall back to their
+     * per-field extractor
      * @return StockInfo object with all extracted data
      */
     public StockInfo extractStockInfo() {
         logger.info("Extracting stock information from page");
         
         StockInfo stockInfo = new StockInfo();
+        PageSnapshot snapshot = null;
         
         try {
+            String mode = configReader.getExtractionMode().trim();
+            Map<String, List<String>> fieldTexts = Collections.emptyMap();
+            if ("batch".equalsIgnoreCase(mode)) {
+                fieldTexts = readFieldTexts();
+            } else if ("snapshot".equalsIgnoreCase(mode)) {
+                snapshot = PageSnapshot.capture(driver, snapshotName());
+                fieldTexts = snapshot.selectTexts(FIELD_XPATHS);
+            }
+            
             // Extract stock symbol
-            stockInfo.setSymbol(extractStockSymbol());
+            stockInfo.setSymbol(extractField(fieldTexts, "stockSymbol", StockDetailsPage::symbolFromText,
+                    this::extractStockSymbol));
             
             // Extract company name
-            stockInfo.setCompanyName(extractCompanyName());
+            stockInfo.setCompanyName(extractField(fieldTexts, "companyName", StockDetailsPage::nonEmptyText,
+                    this::extractCompanyName));
             
             // Extract current price
-            stockInfo.setCurrentPrice(extractCurrentPrice());
+            stockInfo.setCurrentPrice(extractField(fieldTexts, "currentPrice", StockDetailsPage::priceFromText,
+                    this::extractCurrentPrice));
             
             // Extract price change
-            stockInfo.setPriceChange(extractPriceChange());
+            stockInfo.setPriceChange(extractField(fieldTexts, "priceChange", StockDetailsPage::changeFromText,
+                    this::extractPriceChange));
             
             // Extract percentage change
-            stockInfo.setPercentageChange(extractPercentageChange());
+            stockInfo.setPercentageChange(extractField(fieldTexts, "percentageChange", StockDetailsPage::percentFromText,
+                    this::extractPercentageChange));
             
             // Extract 52 week high
-            stockInfo.setWeekHigh52(extract52WeekHigh());
+            stockInfo.setWeekHigh52(extractField(fieldTexts, "52WeekHigh", StockDetailsPage::weekPriceFromText,
+                    this::extract52WeekHigh));
             
             // Extract 52 week low
-            stockInfo.setWeekLow52(extract52WeekLow());
+            stockInfo.setWeekLow52(extractField(fieldTexts, "52WeekLow", StockDetailsPage::weekPriceFromText,
+                    this::extract52WeekLow));
             
             // Extract volume
-            stockInfo.setVolume(extractVolume());
+            stockInfo.setVolume(extractField(fieldTexts, "volume", StockDetailsPage::nonEmptyText,
+                    this::extractVolume));
             
             // Extract market cap
-            stockInfo.setMarketCap(extractMarketCap());
+            stockInfo.setMarketCap(extractField(fieldTexts, "marketCap", StockDetailsPage::nonEmptyText,
+                    this::extractMarketCap));
             
             logger.info("Stock information extracted successfully for: {}", stockInfo.getSymbol());
             
@@ -141,43 +236,166 @@ public class StockDetailsPage {
             logger.error("Error extracting stock information: {}", e.getMessage(), e);
         }
         
+        if (snapshot != null) {
+            keepSnapshot(snapshot, stockInfo);
+        }
         return stockInfo;
     }
     
+    /**
+     * Extract complete stock information without holding the browser for the parsing
+     * With extraction.mode=snapshot only the page copy is taken here; the fields
+     * are parsed on a worker thread, so the driver can load the next page
+     * meanwhile. There is no per-field fallback because the page is gone by
+     * then. Other modes extract synchronously.
+     * @return Future of the StockInfo
+     */
+    public Future<StockInfo> extractStockInfoAsync() {
+        if (!"snapshot".equalsIgnoreCase(configReader.getExtractionMode().trim())) {
+            return CompletableFuture.completedFuture(extractStockInfo());
+        }
+        try {
+            return PageSnapshot.capture(driver, snapshotName()).submit(StockDetailsPage::extractFromSnapshot);
+        } catch (Exception e) {
+            logger.warn("Page snapshot failed, extracting from the live page: {}", String.valueOf(e.getMessage()).split("\\R", 2)[0]);
+            return CompletableFuture.completedFuture(extractStockInfo());
+        }
+    }
+    
+    /**
+     * Extract complete stock information from a page snapshot, e.g. one saved by an earlier run
+     * @param snapshot Page snapshot
+     * @return StockInfo object with the fields found in the snapshot
+     */
+    public static StockInfo extractFromSnapshot(PageSnapshot snapshot) {
+        StockInfo stockInfo = new StockInfo();
+        try {
+            Map<String, List<String>> fieldTexts = snapshot.selectTexts(FIELD_XPATHS);
+            stockInfo.setSymbol(extractField(fieldTexts, "stockSymbol", StockDetailsPage::symbolFromText, () -> {
+                String symbol = symbolFromUrl(snapshot.getUrl());
+                return symbol != null ? symbol : "UNKNOWN";
+            }));
+            stockInfo.setCompanyName(extractField(fieldTexts, "companyName", StockDetailsPage::nonEmptyText,
+                    () -> "Unknown Company"));
+            stockInfo.setCurrentPrice(extractField(fieldTexts, "currentPrice", StockDetailsPage::priceFromText,
+                    () -> 0.0));
+            stockInfo.setPriceChange(extractField(fieldTexts, "priceChange", StockDetailsPage::changeFromText,
+                    () -> 0.0));
+            stockInfo.setPercentageChange(extractField(fieldTexts, "percentageChange",
+                    StockDetailsPage::percentFromText, () -> 0.0));
+            stockInfo.setWeekHigh52(extractField(fieldTexts, "52WeekHigh", StockDetailsPage::weekPriceFromText,
+                    () -> 0.0));
+            stockInfo.setWeekLow52(extractField(fieldTexts, "52WeekLow", StockDetailsPage::weekPriceFromText,
+                    () -> 0.0));
+            stockInfo.setVolume(extractField(fieldTexts, "volume", StockDetailsPage::nonEmptyText, () -> "N/A"));
+            stockInfo.setMarketCap(extractField(fieldTexts, "marketCap", StockDetailsPage::nonEmptyText,
+                    () -> "N/A"));
+            logger.info("Stock information extracted from snapshot '{}' for: {}", snapshot.getName(),
+                    stockInfo.getSymbol());
+        } catch (Exception e) {
+            logger.error("Error extracting stock information from snapshot '{}': {}", snapshot.getName(),
+                    e.getMessage(), e);
+        }
+        keepSnapshot(snapshot, stockInfo);
+        return stockInfo;
+    }
+    
+    /**
+     * Save a snapshot if extraction.snapshot.keep asks for it
+     * @param snapshot Page snapshot
+     * @param stockInfo What was extracted from it
+     */
+    private static void keepSnapshot(PageSnapshot snapshot, StockInfo stockInfo) {
+        String keep = ConfigReader.getInstance().getSnapshotKeep().trim();
+        if ("all".equalsIgnoreCase(keep) || ("failed".equalsIgnoreCase(keep) && !stockInfo.isValid())) {
+            snapshot.save();
+        }
+    }
+    
+    private String snapshotName() {
+        String symbol = symbolFromUrl(driver.getCurrentUrl());
+        return "quote_" + (symbol != null ? symbol : "page");
+    }
+    
+    /**
+     * Read the text of every element each field locator matches, in one script call
+     * @return Field name -> texts in locator order, or an empty map if the script failed
+     */
+    private Map<String, List<String>> readFieldTexts() {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return Collections.emptyMap();
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            Map<String, List<String>> fieldXpaths = new LinkedHashMap<>();
+            for (Map.Entry<String, String[]> field : FIELD_XPATHS.entrySet()) {
+                fieldXpaths.put(field.getKey(), Arrays.asList(field.getValue()));
+            }
+            Object result = ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, fieldXpaths);
+            
+            Map<String, List<String>> fieldTexts = new LinkedHashMap<>();
+            if (result instanceof Map) {
+                for (Map.Entry<?, ?> field : ((Map<?, ?>) result).entrySet()) {
+                    List<String> texts = new ArrayList<>();
+                    if (field.getValue() instanceof List) {
+                        for (Object text : (List<?>) field.getValue()) {
+                            texts.add(String.valueOf(text));
+                        }
+                    }
+                    fieldTexts.put(String.valueOf(field.getKey()), texts);
+                }
+            }
+            logger.debug("Batch extraction read {} fields in {} ms", fieldTexts.size(),
+                    System.currentTimeMillis() - startTime);
+            return fieldTexts;
+        } catch (Exception e) {
+            logger.warn("Batch extraction failed, extracting field by field: {}", String.valueOf(e.getMessage()).split("\\R", 2)[0]);
+            return Collections.emptyMap();
+        } finally {
+            TestTimeBudget.record("StockDetailsPage batch extraction", startTime);
+        }
+    }
+    
+    /**
+     * Take a field from the batch texts, or run its extractor if none of them is accepted
+     * @param fieldTexts Texts read by the batch, empty when not in batch mode
+     * @param field Field name
+     * @param parser Turns a text into a value, or returns null to reject it
+     * @param extractor Per-field extractor used as fallback
+     * @return Field value
+     */
+    private static <T> T extractField(Map<String, List<String>> fieldTexts, String field,
+                               Function<String, T> parser, Supplier<T> extractor) {
+        List<String> texts = fieldTexts.get(field);
+        if (texts != null) {
+            for (String text : texts) {
+                T value = parser.apply(text);
+                if (value != null) {
+                    logger.debug("Extracted {} from batch: {}", field, value);
+                    return value;
+                }
+            }
+            logger.debug("Batch extraction found no {}, using per-field extractor", field);
+        }
+        return extractor.get();
+    }
+    
     /**
      * Extract stock symbol from page
      * @return Stock symbol
      */
     public String extractStockSymbol() {
         try {
-            String[] symbolLocators = {
-                "//h1[contains(@class,'symbol')] | //span[contains(@class,'symbol')]",
-                "//div[contains(@class,'stock-info')]//h1",
-                "//title | //h1"
-            };
-            
-            for (String locator : symbolLocators) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(locator));
-                    String text = element.getText().trim();
-                    if (!text.isEmpty()) {
-                        // Extract symbol from text (usually first word)
-                        String symbol = text.split("\\s+")[0];
-                        logger.debug("Extracted stock symbol: {}", symbol);
-                        return symbol;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Symbol not found with locator: {}", locator);
-                }
+            String symbol = chain("stockSymbol").resolve(driver,
+                element -> symbolFromText(element.getText()));
+            if (symbol != null) {
+                logger.debug("Extracted stock symbol: {}", symbol);
+                return symbol;
             }
             
             // Fallback: extract from URL
-            String url = driver.getCurrentUrl();
-            if (url.contains("symbol=")) {
-                String symbol = url.substring(url.indexOf("symbol=") + 7);
-                if (symbol.contains("&")) {
-                    symbol = symbol.substring(0, symbol.indexOf("&"));
-                }
+            symbol = symbolFromUrl(driver.getCurrentUrl());
+            if (symbol != null) {
                 logger.debug("Extracted symbol from URL: {}", symbol);
                 return symbol;
             }
@@ -195,23 +413,10 @@ public class StockDetailsPage {
      */
     public String extractCompanyName() {
         try {
-            String[] nameLocators = {
-                "//div[contains(@class,'company-name')]",
-                "//span[contains(@class,'company')]",
-                "//h2[contains(@class,'company')] | //h3[contains(@class,'company')]"
-            };
-            
-            for (String locator : nameLocators) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(locator));
-                    String name = element.getText().trim();
-                    if (!name.isEmpty()) {
-                        logger.debug("Extracted company name: {}", name);
-                        return name;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Company name not found with locator: {}", locator);
-                }
+            String name = chain("companyName").resolve(driver, element -> nonEmptyText(element.getText()));
+            if (name != null) {
+                logger.debug("Extracted company name: {}", name);
+                return name;
             }
             
         } catch (Exception e) {
@@ -227,29 +432,10 @@ public class StockDetailsPage {
      */
     public double extractCurrentPrice() {
         try {
-            String[] priceLocators = {
-                "//span[contains(@class,'price') and contains(text(),'₹')] | //span[@id='lastPrice']",
-                "//div[contains(@class,'price')]//span[contains(text(),'₹')]",
-                "//*[contains(@class,'current-price')] | //*[contains(@class,'ltp')]",
-                "//span[contains(text(),'₹')]"
-            };
-            
-            for (String locator : priceLocators) {
-                try {
-                    List<WebElement> elements = driver.findElements(By.xpath(locator));
-                    for (WebElement element : elements) {
-                        String priceText = element.getText().trim();
-                        if (priceText.contains("₹")) {
-                            double price = parsePrice(priceText);
-                            if (price > 0) {
-                                logger.debug("Extracted current price: {}", price);
-                                return price;
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.debug("Price not found with locator: {}", locator);
-                }
+            Double price = chain("currentPrice").resolve(driver, element -> priceFromText(element.getText()));
+            if (price != null) {
+                logger.debug("Extracted current price: {}", price);
+                return price;
             }
             
         } catch (Exception e) {
@@ -265,24 +451,10 @@ public class StockDetailsPage {
      */
     public double extractPriceChange() {
         try {
-            String[] changeLocators = {
-                "//span[contains(@class,'change') and not(contains(@class,'percent'))]",
-                "//span[contains(@class,'pChange')]",
-                "//*[contains(@class,'price-change')]"
-            };
-            
-            for (String locator : changeLocators) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(locator));
-                    String changeText = element.getText().trim();
-                    if (!changeText.isEmpty() && !changeText.contains("%")) {
-                        double change = parsePrice(changeText);
-                        logger.debug("Extracted price change: {}", change);
-                        return change;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Price change not found with locator: {}", locator);
-                }
+            Double change = chain("priceChange").resolve(driver, element -> changeFromText(element.getText()));
+            if (change != null) {
+                logger.debug("Extracted price change: {}", change);
+                return change;
             }
             
         } catch (Exception e) {
@@ -298,23 +470,10 @@ public class StockDetailsPage {
      */
     public double extractPercentageChange() {
         try {
-            String[] percentLocators = {
-                "//span[contains(@class,'percent') or contains(text(),'%')]",
-                "//span[contains(@class,'pChange') and contains(text(),'%')]"
-            };
-            
-            for (String locator : percentLocators) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(locator));
-                    String percentText = element.getText().trim();
-                    if (percentText.contains("%")) {
-                        double percent = parsePercentage(percentText);
-                        logger.debug("Extracted percentage change: {}%", percent);
-                        return percent;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Percentage change not found with locator: {}", locator);
-                }
+            Double percent = chain("percentageChange").resolve(driver, element -> percentFromText(element.getText()));
+            if (percent != null) {
+                logger.debug("Extracted percentage change: {}%", percent);
+                return percent;
             }
             
         } catch (Exception e) {
@@ -329,7 +488,7 @@ public class StockDetailsPage {
      * @return 52 week high as double
      */
     public double extract52WeekHigh() {
-        return extractWeekPrice("52 Week High", "52WH", "High");
+        return extractWeekPrice("High");
     }
     
     /**
@@ -337,39 +496,20 @@ public class StockDetailsPage {
      * @return 52 week low as double
      */
     public double extract52WeekLow() {
-        return extractWeekPrice("52 Week Low", "52WL", "Low");
+        return extractWeekPrice("Low");
     }
     
     /**
      * Extract 52 week price (high or low)
-     * @param label Label to search for
-     * @param shortLabel Short label alternative
      * @param type Type (High/Low)
      * @return Price as double
      */
-    private double extractWeekPrice(String label, String shortLabel, String type) {
+    private double extractWeekPrice(String type) {
         try {
-            String[] weekLocators = {
-                String.format("//span[contains(text(),'%s')]/following-sibling::span", label),
-                String.format("//td[contains(text(),'%s')]/following-sibling::td", label),
-                String.format("//div[contains(text(),'%s')]//following::span[contains(text(),'₹')]", label),
-                String.format("//*[contains(text(),'%s')]", shortLabel)
-            };
-            
-            for (String locator : weekLocators) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(locator));
-                    String priceText = element.getText().trim();
-                    if (!priceText.isEmpty()) {
-                        double price = parsePrice(priceText);
-                        if (price > 0) {
-                            logger.debug("Extracted 52 week {}: {}", type, price);
-                            return price;
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.debug("52 week {} not found with locator: {}", type, locator);
-                }
+            Double price = chain("52Week" + type).resolve(driver, element -> weekPriceFromText(element.getText()));
+            if (price != null) {
+                logger.debug("Extracted 52 week {}: {}", type, price);
+                return price;
             }
             
         } catch (Exception e) {
@@ -385,23 +525,10 @@ public class StockDetailsPage {
      */
     public String extractVolume() {
         try {
-            String[] volumeLocators = {
-                "//span[contains(text(),'Volume')]/following-sibling::span",
-                "//td[contains(text(),'Volume')]/following-sibling::td",
-                "//*[contains(@class,'volume')]"
-            };
-            
-            for (String locator : volumeLocators) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(locator));
-                    String volume = element.getText().trim();
-                    if (!volume.isEmpty()) {
-                        logger.debug("Extracted volume: {}", volume);
-                        return volume;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Volume not found with locator: {}", locator);
-                }
+            String volume = chain("volume").resolve(driver, element -> nonEmptyText(element.getText()));
+            if (volume != null) {
+                logger.debug("Extracted volume: {}", volume);
+                return volume;
             }
             
         } catch (Exception e) {
@@ -417,23 +544,10 @@ public class StockDetailsPage {
      */
     public String extractMarketCap() {
         try {
-            String[] marketCapLocators = {
-                "//span[contains(text(),'Market Cap')]/following-sibling::span",
-                "//td[contains(text(),'Market Cap')]/following-sibling::td",
-                "//*[contains(@class,'market-cap')]"
-            };
-            
-            for (String locator : marketCapLocators) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(locator));
-                    String marketCap = element.getText().trim();
-                    if (!marketCap.isEmpty()) {
-                        logger.debug("Extracted market cap: {}", marketCap);
-                        return marketCap;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Market cap not found with locator: {}", locator);
-                }
+            String marketCap = chain("marketCap").resolve(driver, element -> nonEmptyText(element.getText()));
+            if (marketCap != null) {
+                logger.debug("Extracted market cap: {}", marketCap);
+                return marketCap;
             }
             
         } catch (Exception e) {
@@ -443,12 +557,92 @@ public class StockDetailsPage {
         return "N/A";
     }
     
+    /**
+     * Build the fallback locator chain for one field of this page
+     * @param field Field name, a key of FIELD_XPATHS
+     * @return LocatorChain
+     */
+    private static LocatorChain chain(String field) {
+        return LocatorChain.ofXpaths("StockDetailsPage", field, FIELD_CATCH_ALLS.getOrDefault(field, 0),
+                FIELD_XPATHS.get(field));
+    }
+    
+    /**
+     * Build the fallback XPaths of a 52 week price
+     * @param label Label to search for
+     * @param shortLabel Short label alternative
+     * @return XPaths in order of preference, the last two catch-alls
+     */
+    private static String[] weekPriceXpaths(String label, String shortLabel) {
+        return new String[]{
+            String.format("//span[contains(text(),'%s')]/following-sibling::span", label),
+            String.format("//td[contains(text(),'%s')]/following-sibling::td", label),
+            String.format("//div[contains(text(),'%s')]//following::span[contains(text(),'₹')]", label),
+            String.format("//*[contains(text(),'%s')]", shortLabel)};
+    }
+    
+    /**
+     * Accept a text only if it is not empty
+     * @param text Candidate text
+     * @return Trimmed text, or null if empty
+     */
+    private static String nonEmptyText(String text) {
+        text = text.trim();
+        return text.isEmpty() ? null : text;
+    }
+    
+    /**
+     * Take the symbol from a heading text (usually its first word)
+     * @param text Candidate text
+     * @return Symbol, or null if the text is empty
+     */
+    private static String symbolFromText(String text) {
+        text = text.trim();
+        return text.isEmpty() ? null : text.split("\\s+")[0];
+    }
+    
+    /**
+     * Take the symbol from a quote page URL
+     * @param url Page URL
+     * @return Value of the symbol parameter, or null if there is none
+     */
+    private static String symbolFromUrl(String url) {
+        if (url == null || !url.contains("symbol=")) {
+            return null;
+        }
+        String symbol = url.substring(url.indexOf("symbol=") + 7);
+        if (symbol.contains("&")) {
+            symbol = symbol.substring(0, symbol.indexOf("&"));
+        }
+        return symbol;
+    }
+    
+    private static Double priceFromText(String text) {
+        double value = text.contains("₹") ? parsePrice(text.trim()) : 0.0;
+        return value > 0 ? value : null;
+    }
+    
+    private static Double changeFromText(String text) {
+        text = text.trim();
+        return !text.isEmpty() && !text.contains("%") ? parsePrice(text) : null;
+    }
+    
+    private static Double percentFromText(String text) {
+        return text.contains("%") ? parsePercentage(text.trim()) : null;
+    }
+    
+    private static Double weekPriceFromText(String text) {
+        text = text.trim();
+        double value = text.isEmpty() ? 0.0 : parsePrice(text);
+        return value > 0 ? value : null;
+    }
+    
     /**
      * Parse price from text
      * @param priceText Price text containing currency symbols
      * @return Parsed price as double
      */
-    private double parsePrice(String priceText) {
+    private static double parsePrice(String priceText) {
         try {
             // Remove currency symbols and commas
             String cleanPrice = priceText.replaceAll("[₹,\\s+()-]", "");
@@ -476,7 +670,7 @@ public class StockDetailsPage {
      * @param percentText Percentage text
      * @return Parsed percentage as double
      */
-    private double parsePercentage(String percentText) {
+    private static double parsePercentage(String percentText) {
         try {
             // Remove % symbol and spaces
             String cleanPercent = percentText.replaceAll("[%\\s+()-]", "");
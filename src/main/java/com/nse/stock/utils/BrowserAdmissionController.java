@@ -0,0 +1,273 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrently live browsers based on the CPUs and memory
+ * actually available to this process, including Linux cgroup limits.
+ * Threads that would exceed the cap wait for a slot instead of launching a
+ * browser that pushes the machine into swap.
+ */
+class BrowserAdmissionController {
+
+    private static final Logger logger = LogManager.getLogger(BrowserAdmissionController.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final long WAIT_SLICE_MILLIS = 250;
+    private static final long UNLIMITED_THRESHOLD_BYTES = Long.MAX_VALUE / 2;
+    private static final String CGROUP_ROOT = "/sys/fs/cgroup";
+
+    private final int maxConcurrentBrowsers;
+    private final Semaphore slots;
+
+    BrowserAdmissionController() {
+        this.maxConcurrentBrowsers = computeLimit();
+        this.slots = new Semaphore(maxConcurrentBrowsers, true);
+    }
+
+    /**
+     * Wait for a free browser slot
+     * @param browser Browser about to be launched (for logging)
+     * @param idleEvictor Called while waiting to free slots held by idle pooled sessions
+     */
+    void acquire(String browser, Runnable idleEvictor) {
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(configReader.getBrowserAdmissionTimeout());
+        long startTime = System.currentTimeMillis();
+        boolean logged = false;
+
+        try {
+            while (!slots.tryAcquire(WAIT_SLICE_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!logged) {
+                    logger.info("All {} browser slots busy, {} launch is waiting", maxConcurrentBrowsers, browser);
+                    logged = true;
+                }
+                idleEvictor.run();
+                if (System.currentTimeMillis() - startTime > timeoutMillis) {
+                    throw new RuntimeException("Timed out waiting for a browser slot for " + browser
+                            + " (limit: " + maxConcurrentBrowsers + " concurrent browsers)");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser slot", e);
+        }
+
+        if (logged) {
+            logger.info("{} launch admitted after {} ms", browser, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Take a browser slot only if one is free right now
+     * @return true if a slot was taken
+     */
+    boolean tryAcquire() {
+        return slots.tryAcquire();
+    }
+
+    /**
+     * Give back a browser slot after the browser has been quit
+     */
+    void release() {
+        slots.release();
+    }
+
+    int getMaxConcurrentBrowsers() {
+        return maxConcurrentBrowsers;
+    }
+
+    /**
+     * Work out how many browsers this machine (or container) can run at once
+     * @return Concurrent browser limit, at least 1
+     */
+    private static int computeLimit() {
+        int configured = configReader.getMaxConcurrentBrowsers();
+        if (configured > 0) {
+            logger.info("Concurrent browser limit set by configuration: {}", configured);
+            return configured;
+        }
+
+        double cpus = getAvailableCpus();
+        long memoryMb = getAvailableMemoryBytes() / (1024 * 1024) - configReader.getBrowserMemoryReserveMb();
+
+        int cpuLimit = (int) Math.floor(cpus / configReader.getBrowserCpusPerInstance());
+        int memoryLimit = (int) (memoryMb / configReader.getBrowserMemoryPerInstanceMb());
+        int limit = Math.max(1, Math.min(cpuLimit, memoryLimit));
+
+        logger.info("Concurrent browser limit: {} (cpus: {}, available memory: {} MB, cpu limit: {}, memory limit: {})",
+                limit, cpus, memoryMb, cpuLimit, memoryLimit);
+        return limit;
+    }
+
+    /**
+     * Get CPUs usable by this process, honouring cgroup v1/v2 CPU quotas
+     * on the process's own cgroup and every ancestor of it
+     * @return Number of CPUs, possibly fractional under a quota
+     */
+    static double getAvailableCpus() {
+        double cpus = Runtime.getRuntime().availableProcessors();
+
+        if (isCgroupV2()) {
+            // "<quota> <period>" or "max <period>"
+            for (Path dir : getCgroupDirs(CGROUP_ROOT, getCgroupPath(null))) {
+                String cpuMax = readFirstLine(dir.resolve("cpu.max"));
+                if (cpuMax == null) {
+                    continue;
+                }
+                String[] parts = cpuMax.trim().split("\\s+");
+                if (parts.length == 2 && !"max".equals(parts[0])) {
+                    cpus = Math.min(cpus, Double.parseDouble(parts[0]) / Double.parseDouble(parts[1]));
+                }
+            }
+            return cpus;
+        }
+
+        // cgroup v1: quota of -1 means unlimited
+        for (Path dir : getCgroupDirs(CGROUP_ROOT + "/cpu", getCgroupPath("cpu"))) {
+            String quota = readFirstLine(dir.resolve("cpu.cfs_quota_us"));
+            String period = readFirstLine(dir.resolve("cpu.cfs_period_us"));
+            if (quota != null && period != null) {
+                long quotaValue = Long.parseLong(quota.trim());
+                if (quotaValue > 0) {
+                    cpus = Math.min(cpus, (double) quotaValue / Long.parseLong(period.trim()));
+                }
+            }
+        }
+        return cpus;
+    }
+
+    /**
+     * Get memory still available to this process: the lower of the host's
+     * MemAvailable and the headroom left under the memory limit of the
+     * process's cgroup or any of its ancestors
+     * @return Available memory in bytes
+     */
+    static long getAvailableMemoryBytes() {
+        long available = readMemAvailable();
+
+        boolean v2 = isCgroupV2();
+        List<Path> dirs = v2
+                ? getCgroupDirs(CGROUP_ROOT, getCgroupPath(null))
+                : getCgroupDirs(CGROUP_ROOT + "/memory", getCgroupPath("memory"));
+        for (Path dir : dirs) {
+            long limit = parseBytes(readFirstLine(dir.resolve(v2 ? "memory.max" : "memory.limit_in_bytes")));
+            long usage = parseBytes(readFirstLine(dir.resolve(v2 ? "memory.current" : "memory.usage_in_bytes")));
+            if (limit > 0 && limit < UNLIMITED_THRESHOLD_BYTES) {
+                available = Math.min(available, limit - Math.max(usage, 0));
+            }
+        }
+        return available;
+    }
+
+    private static boolean isCgroupV2() {
+        return Files.exists(Paths.get(CGROUP_ROOT, "cgroup.controllers"));
+    }
+
+    /**
+     * Get this process's cgroup path from /proc/self/cgroup
+     * @param controller cgroup v1 controller, or null for the cgroup v2 unified hierarchy
+     * @return Path relative to the hierarchy root, or null if unknown
+     */
+    private static String getCgroupPath(String controller) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/cgroup"), StandardCharsets.UTF_8)) {
+                // "<id>:<controllers>:<path>", the v2 entry is "0::<path>"
+                String[] parts = line.split(":", 3);
+                if (parts.length < 3) {
+                    continue;
+                }
+                if (controller == null ? "0".equals(parts[0]) && parts[1].isEmpty()
+                        : Arrays.asList(parts[1].split(",")).contains(controller)) {
+                    return parts[2];
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read /proc/self/cgroup: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Get the cgroup directories whose limits apply to this process
+     * @param hierarchyRoot Mount point of the hierarchy
+     * @param cgroupPath Process cgroup path, or null
+     * @return The process's cgroup directory and its ancestors up to the hierarchy root; only
+     *         the root when the path is not visible (e.g. a container sees its cgroup as the root)
+     */
+    private static List<Path> getCgroupDirs(String hierarchyRoot, String cgroupPath) {
+        Path root = Paths.get(hierarchyRoot);
+        Path dir = cgroupPath != null ? Paths.get(hierarchyRoot, cgroupPath).normalize() : root;
+        if (!dir.startsWith(root) || !Files.isDirectory(dir)) {
+            dir = root;
+        }
+        List<Path> dirs = new ArrayList<>();
+        for (Path current = dir; current != null && current.startsWith(root); current = current.getParent()) {
+            dirs.add(current);
+        }
+        return dirs;
+    }
+
+    private static long readMemAvailable() {
+        try {
+            List<String> lines = Files.readAllLines(Paths.get("/proc/meminfo"), StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (line.startsWith("MemAvailable:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Could not read /proc/meminfo: {}", e.getMessage());
+        }
+        // Not Linux: fall back to what the JVM can see. getFreeMemorySize (Java 14+) replaces the
+        // deprecated getFreePhysicalMemorySize, so both are looked up by name
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            for (String method : new String[]{"getFreeMemorySize", "getFreePhysicalMemorySize"}) {
+                try {
+                    Method getter = com.sun.management.OperatingSystemMXBean.class.getMethod(method);
+                    return ((Number) getter.invoke(osBean)).longValue();
+                } catch (ReflectiveOperationException e) {
+                    // Not available on this JVM, try the next one
+                }
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static long parseBytes(String value) {
+        if (value == null || "max".equals(value.trim())) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String readFirstLine(Path path) {
+        if (!Files.isReadable(path)) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            return lines.isEmpty() ? null : lines.get(0);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Isolates session acquisition for one browser type
+ * Each browser gets its own bounded executor for launching/borrowing
+ * sessions and its own cap on sessions held by tests, so a browser that is
+ * slow to start or keeps failing only exhausts its own threads and slots.
+ */
+class BrowserBulkhead {
+
+    private static final Logger logger = LogManager.getLogger(BrowserBulkhead.class);
+
+    private final String browser;
+    private final int capacityLimit;
+    private final Semaphore capacity;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger acquired = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+    private final AtomicLong totalServiceMillis = new AtomicLong();
+
+    BrowserBulkhead(String browser, int threads, int queueSize, int capacityLimit) {
+        this.browser = browser;
+        this.capacityLimit = capacityLimit;
+        this.capacity = new Semaphore(capacityLimit, true);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "bulkhead-" + browser + "-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        logger.info("Bulkhead created for {} (threads: {}, queue: {}, capacity: {})",
+                browser, threads, queueSize, capacityLimit);
+    }
+
+    /**
+     * Take a capacity slot and obtain a session on this browser's executor
+     * The slot stays taken until {@link #release()} is called
+     * @param factory Launches or borrows the session
+     * @param orphanHandler Disposes of a session that arrives after the caller gave up
+     * @param timeoutSeconds Maximum time to wait for a slot plus the session
+     * @return Session
+     */
+    ManagedSession acquire(Callable<ManagedSession> factory, Consumer<ManagedSession> orphanHandler, int timeoutSeconds) {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        try {
+            if (!capacity.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+                rejected.incrementAndGet();
+                throw new RuntimeException("Timed out after " + timeoutSeconds + " seconds waiting for a "
+                        + browser + " bulkhead slot (capacity: " + capacityLimit + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a " + browser + " bulkhead slot", e);
+        }
+
+        boolean success = false;
+        long[] startedAt = new long[1];
+        // Set by whichever side finishes first: the task delivering a session or the caller giving up
+        AtomicBoolean settled = new AtomicBoolean();
+        try {
+            Future<ManagedSession> future = executor.submit(() -> {
+                startedAt[0] = System.currentTimeMillis();
+                ManagedSession created = factory.call();
+                if (!settled.compareAndSet(false, true)) {
+                    orphanHandler.accept(created);
+                }
+                return created;
+            });
+            peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+
+            ManagedSession session;
+            try {
+                session = future.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (settled.compareAndSet(false, true)) {
+                    throw e;
+                }
+                // Delivered just as the caller timed out
+                session = future.get();
+            }
+            long finishedAt = System.currentTimeMillis();
+            long waitMillis = startedAt[0] - startTime;
+            totalWaitMillis.addAndGet(waitMillis);
+            maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+            totalServiceMillis.addAndGet(finishedAt - startedAt[0]);
+            acquired.incrementAndGet();
+            peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+            success = true;
+            return session;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new RuntimeException("The " + browser + " bulkhead queue is full", e);
+        } catch (TimeoutException e) {
+            failed.incrementAndGet();
+            throw new RuntimeException("Timed out after " + timeoutSeconds + " seconds obtaining a " + browser + " session", e);
+        } catch (ExecutionException e) {
+            failed.incrementAndGet();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Could not obtain a " + browser + " session", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while obtaining a " + browser + " session", e);
+        } finally {
+            if (!success) {
+                capacity.release();
+            }
+        }
+    }
+
+    /**
+     * Take a capacity slot for a session the caller already holds idle
+     * Used when a thread picks its soft-reset session back up
+     * @param timeoutSeconds Maximum time to wait for a slot
+     */
+    void acquireSlot(int timeoutSeconds) {
+        try {
+            if (!capacity.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+                rejected.incrementAndGet();
+                throw new RuntimeException("Timed out after " + timeoutSeconds + " seconds waiting for a "
+                        + browser + " bulkhead slot (capacity: " + capacityLimit + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a " + browser + " bulkhead slot", e);
+        }
+        acquired.incrementAndGet();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Give back the slot taken by {@link #acquire} or {@link #acquireSlot}
+     */
+    void release() {
+        inUse.decrementAndGet();
+        capacity.release();
+    }
+
+    /**
+     * Stop the executor threads
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Summarize throughput and queueing for the report
+     * @return Metrics as one line
+     */
+    String describeMetrics() {
+        int count = acquired.get();
+        return String.format("sessions: %d, failed: %d, rejected: %d, avg queue wait: %d ms, max queue wait: %d ms, "
+                        + "avg acquire time: %d ms, peak queue depth: %d, peak in use: %d/%d",
+                count, failed.get(), rejected.get(),
+                count > 0 ? totalWaitMillis.get() / count : 0, maxWaitMillis.get(),
+                count > 0 ? totalServiceMillis.get() / count : 0,
+                peakQueueDepth.get(), peakInUse.get(), capacityLimit);
+    }
+}
@@ -0,0 +1,141 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named browser launch profiles
+ * "full" launches the browser as a user would see it. "lean" turns off
+ * everything the tests never look at: images, web fonts, notifications,
+ * animations and third-party analytics/ad hosts, so quote pages render and
+ * settle sooner.
+ */
+class BrowserLaunchProfile {
+
+    private static final Logger logger = LogManager.getLogger(BrowserLaunchProfile.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+
+    static final String LEAN = "lean";
+    static final String FULL = "full";
+
+    private BrowserLaunchProfile() {
+    }
+
+    /**
+     * Get the configured launch profile
+     * @return "lean" or "full"
+     */
+    static String getActiveProfile() {
+        String profile = configReader.getBrowserLaunchProfile().trim().toLowerCase();
+        if (!LEAN.equals(profile) && !FULL.equals(profile)) {
+            logger.warn("Unknown browser.launch.profile '{}', using {}", profile, FULL);
+            return FULL;
+        }
+        return profile;
+    }
+
+    /**
+     * Apply the active profile to Chrome options
+     * @param options Chrome options being built
+     */
+    static void apply(ChromeOptions options) {
+        if (LEAN.equals(getActiveProfile())) {
+            options.addArguments(getChromiumArguments());
+            options.setExperimentalOption("prefs", getChromiumPreferences());
+        }
+    }
+
+    /**
+     * Apply the active profile to Firefox options
+     * @param options Firefox options being built
+     */
+    static void apply(FirefoxOptions options) {
+        if (LEAN.equals(getActiveProfile())) {
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+            options.addPreference("permissions.default.desktop-notification", 2);
+            options.addPreference("ui.prefersReducedMotion", 1);
+            options.addPreference("toolkit.cosmeticAnimations.enabled", false);
+            // network.dns.localDomains only matches exact host names, so the blocked hosts and
+            // their subdomains are sent to a closed local port by a proxy auto-config script
+            if (configReader.getBlockedHosts().length > 0) {
+                options.addPreference("network.proxy.type", 2);
+                options.addPreference("network.proxy.autoconfig_url", "data:application/x-ns-proxy-autoconfig;base64,"
+                        + Base64.getEncoder().encodeToString(getProxyAutoConfig().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    /**
+     * Apply the active profile to the Edge (Chromium) options map
+     * @param edgeOptions Contents of the ms:edgeOptions capability
+     */
+    @SuppressWarnings("unchecked")
+    static void apply(Map<String, Object> edgeOptions) {
+        if (LEAN.equals(getActiveProfile())) {
+            List<String> args = new ArrayList<>((List<String>) edgeOptions.get("args"));
+            args.addAll(getChromiumArguments());
+            edgeOptions.put("args", args);
+            edgeOptions.put("prefs", getChromiumPreferences());
+        }
+    }
+
+    private static List<String> getChromiumArguments() {
+        List<String> args = new ArrayList<>();
+        args.add("--blink-settings=imagesEnabled=false");
+        args.add("--disable-remote-fonts");
+        args.add("--disable-notifications");
+        args.add("--force-prefers-reduced-motion");
+
+        List<String> rules = new ArrayList<>();
+        for (String host : configReader.getBlockedHosts()) {
+            rules.add("MAP " + host + " ~NOTFOUND");
+            rules.add("MAP *." + host + " ~NOTFOUND");
+        }
+        if (!rules.isEmpty()) {
+            args.add("--host-resolver-rules=" + String.join(", ", rules));
+        }
+        return args;
+    }
+
+    /**
+     * Build a proxy auto-config script that fails the blocked hosts and their subdomains
+     * @return PAC script; every other host is loaded directly
+     */
+    static String getProxyAutoConfig() {
+        StringBuilder hosts = new StringBuilder();
+        for (String host : configReader.getBlockedHosts()) {
+            if (hosts.length() > 0) {
+                hosts.append(", ");
+            }
+            hosts.append('"').append(host.toLowerCase().replaceAll("[^a-z0-9.-]", "")).append('"');
+        }
+        return "function FindProxyForURL(url, host) {\n"
+                + "  var blocked = [" + hosts + "];\n"
+                + "  host = host.toLowerCase();\n"
+                + "  for (var i = 0; i < blocked.length; i++) {\n"
+                + "    var suffix = '.' + blocked[i];\n"
+                + "    if (host === blocked[i] || host.slice(-suffix.length) === suffix) {\n"
+                + "      return 'PROXY 127.0.0.1:9';\n"
+                + "    }\n"
+                + "  }\n"
+                + "  return 'DIRECT';\n"
+                + "}\n";
+    }
+
+    private static Map<String, Object> getChromiumPreferences() {
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        prefs.put("profile.default_content_setting_values.notifications", 2);
+        return prefs;
+    }
+}
@@ -0,0 +1,203 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The operating system processes behind one browser session: the browser
+ * main process, everything it spawned, and the driver process when the
+ * session owns one. PIDs are remembered together with their start time so a
+ * reaper never kills an unrelated process that later reused the same PID.
+ * Only available on Linux, where the tree is discovered via /proc.
+ */
+class BrowserProcessTree {
+
+    private static final Logger logger = LogManager.getLogger(BrowserProcessTree.class);
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final String browser;
+    private final int browserPid;
+    private final int driverPid;
+    // pid -> start time in clock ticks since boot
+    private final Map<Integer, Long> processes = new LinkedHashMap<>();
+
+    private BrowserProcessTree(String browser, int browserPid, int driverPid) {
+        this.browser = browser;
+        this.browserPid = browserPid;
+        this.driverPid = driverPid;
+    }
+
+    /**
+     * Discover the process tree of a freshly created session
+     * The browser PID comes from the session capabilities: Firefox reports it
+     * directly, Chrome and Edge report the DevTools port the browser listens on.
+     * @param browser Normalized browser name
+     * @param driver Raw driver of the new session
+     * @param ownsDriverProcess true if the driver process belongs to this session only
+     * @return Process tree, or null if it cannot be determined on this platform
+     */
+    static BrowserProcessTree capture(String browser, WebDriver driver, boolean ownsDriverProcess) {
+        if (!ProcFs.isAvailable() || !(driver instanceof RemoteWebDriver)) {
+            return null;
+        }
+        try {
+            int browserPid = findBrowserPid(((RemoteWebDriver) driver).getCapabilities());
+            if (browserPid <= 0) {
+                logger.debug("Could not determine {} browser process from capabilities", browser);
+                return null;
+            }
+
+            int driverPid = -1;
+            if (ownsDriverProcess) {
+                ProcFs.ProcessStat stat = ProcFs.readStat(browserPid);
+                String parentCommand = stat != null ? ProcFs.readCommand(stat.ppid) : null;
+                if (parentCommand != null && parentCommand.endsWith("driver")) {
+                    driverPid = stat.ppid;
+                }
+            }
+
+            BrowserProcessTree tree = new BrowserProcessTree(browser, browserPid, driverPid);
+            tree.refresh();
+            logger.debug("Tracking {}", tree);
+            return tree;
+        } catch (Exception e) {
+            logger.debug("Could not capture {} process tree: {}", browser, e.getMessage());
+            return null;
+        }
+    }
+
+    private static int findBrowserPid(Capabilities capabilities) {
+        Object processId = capabilities.getCapability("moz:processID");
+        if (processId instanceof Number) {
+            return ((Number) processId).intValue();
+        }
+        for (String key : new String[]{"goog:chromeOptions", "ms:edgeOptions"}) {
+            Object options = capabilities.getCapability(key);
+            if (options instanceof Map) {
+                Object debuggerAddress = ((Map<?, ?>) options).get("debuggerAddress");
+                if (debuggerAddress != null) {
+                    String address = debuggerAddress.toString();
+                    int port = Integer.parseInt(address.substring(address.lastIndexOf(':') + 1));
+                    return ProcFs.findPidListeningOn(port);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Pick up processes spawned since the last refresh (new renderers, GPU
+     * process, ...). Processes that were reparented after their parent died
+     * stay tracked through their recorded start time.
+     */
+    synchronized void refresh() {
+        for (int root : new int[]{driverPid, browserPid}) {
+            if (root <= 0 || (processes.containsKey(root) && !isSameProcess(root))) {
+                continue;
+            }
+            for (int pid : ProcFs.processTree(root)) {
+                if (!processes.containsKey(pid)) {
+                    ProcFs.ProcessStat stat = ProcFs.readStat(pid);
+                    if (stat != null) {
+                        processes.put(pid, stat.startTimeTicks);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the tracked processes that are still running
+     * @return Live PIDs
+     */
+    synchronized List<Integer> getLivePids() {
+        List<Integer> live = new ArrayList<>();
+        for (int pid : processes.keySet()) {
+            if (isSameProcess(pid)) {
+                live.add(pid);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Check whether the browser main process is still running
+     * @return true if the browser has not exited
+     */
+    synchronized boolean isBrowserAlive() {
+        return isSameProcess(browserPid);
+    }
+
+    /**
+     * Wait briefly for the tree to exit after a successful quit, then kill whatever is left
+     * @param graceMillis Time to wait before killing
+     * @return Number of processes killed
+     */
+    int reapSurvivors(long graceMillis) {
+        long deadline = System.currentTimeMillis() + graceMillis;
+        List<Integer> live = getLivePids();
+        while (!live.isEmpty() && System.currentTimeMillis() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            live = getLivePids();
+        }
+        if (!live.isEmpty()) {
+            logger.warn("{} process(es) of {} survived quit", live.size(), this);
+            return reap();
+        }
+        return 0;
+    }
+
+    /**
+     * Kill every tracked process that is still running
+     * @return Number of processes killed
+     */
+    int reap() {
+        refresh();
+        List<Integer> live = getLivePids();
+        if (live.isEmpty()) {
+            return 0;
+        }
+        List<String> command = new ArrayList<>();
+        command.add("kill");
+        command.add("-KILL");
+        for (int pid : live) {
+            command.add(String.valueOf(pid));
+        }
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            logger.info("Killed {} process(es) of {}: {}", live.size(), this, live);
+        } catch (Exception e) {
+            logger.warn("Error killing {} processes {}: {}", browser, live, e.getMessage());
+        }
+        return live.size();
+    }
+
+    private boolean isSameProcess(int pid) {
+        ProcFs.ProcessStat stat = ProcFs.readStat(pid);
+        Long startTime = processes.get(pid);
+        return stat != null && !stat.isExited() && (startTime == null || startTime == stat.startTimeTicks);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s process tree (browser pid: %d, driver pid: %s, processes: %d)",
+                browser, browserPid, driverPid > 0 ? String.valueOf(driverPid) : "shared", processes.size());
+    }
+}
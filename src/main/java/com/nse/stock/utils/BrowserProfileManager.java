@@ -0,0 +1,186 @@
+package com.nse.stock.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds one warmed browser profile per browser type and gives every new
+ * session its own copy, so nseindia.com's static JS/CSS is served from the
+ * browser cache instead of being downloaded again by every session.
+ * Copies use copy-on-write clones where the filesystem supports them and
+ * plain copies elsewhere. Hardlinks are not used because browsers update
+ * their cache and SQLite files in place, which would write through to the
+ * template.
+ */
+class BrowserProfileManager {
+
+    private static final Logger logger = LogManager.getLogger(BrowserProfileManager.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final String READY_MARKER = ".template-ready";
+    private static final String[] LOCK_FILES = {
+            "SingletonLock", "SingletonCookie", "SingletonSocket", "lock", ".parentlock", "parent.lock"
+    };
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> failedTemplates = new ConcurrentHashMap<>();
+    private static volatile boolean staleSessionsCleaned;
+
+    /**
+     * Fills an empty profile directory by running a browser against it
+     */
+    interface TemplateBuilder {
+        void build(String browser, File profileDir) throws Exception;
+    }
+
+    private BrowserProfileManager() {
+    }
+
+    /**
+     * Create a profile directory for a new session, copied from the warmed template
+     * @param browser Normalized browser name
+     * @param builder Used to build the template when it is missing or stale
+     * @return Session profile directory, or null to let the browser use a throwaway profile
+     */
+    static File createSessionProfile(String browser, TemplateBuilder builder) {
+        if (!configReader.isBrowserProfileTemplateEnabled() || !isSupported(browser)
+                || failedTemplates.containsKey(browser)) {
+            return null;
+        }
+        cleanStaleSessionProfiles();
+
+        File template = ensureTemplate(browser, builder);
+        if (template == null) {
+            return null;
+        }
+
+        File sessionDir = new File(getWorkspace(), "sessions/" + browser + "-" + UUID.randomUUID());
+        try {
+            long startTime = System.currentTimeMillis();
+            copyProfile(template, sessionDir);
+            logger.debug("Cloned {} profile template to {} in {} ms",
+                    browser, sessionDir, System.currentTimeMillis() - startTime);
+            return sessionDir;
+        } catch (IOException e) {
+            logger.warn("Could not clone {} profile template, using a throwaway profile: {}", browser, e.getMessage());
+            FileUtils.deleteQuietly(sessionDir);
+            return null;
+        }
+    }
+
+    /**
+     * Delete a session's profile directory after its browser has exited
+     * @param profileDir Session profile directory (may be null)
+     */
+    static void deleteSessionProfile(File profileDir) {
+        if (profileDir != null) {
+            FileUtils.deleteQuietly(profileDir);
+        }
+    }
+
+    /**
+     * Get the directory holding templates and session profiles
+     * Placed on /dev/shm when the tmpfs workspace is enabled
+     * @return Workspace directory
+     */
+    static File getWorkspace() {
+        return new File(configReader.getBrowserProfileDirectory());
+    }
+
+    private static boolean isSupported(String browser) {
+        return "chrome".equals(browser) || "edge".equals(browser) || "firefox".equals(browser);
+    }
+
+    private static File ensureTemplate(String browser, TemplateBuilder builder) {
+        File template = new File(getWorkspace(), "templates/" + browser);
+        synchronized (locks.computeIfAbsent(browser, key -> new Object())) {
+            if (isFresh(template)) {
+                return template;
+            }
+
+            File buildDir = new File(getWorkspace(), "templates/" + browser + ".building-" + UUID.randomUUID());
+            long startTime = System.currentTimeMillis();
+            try {
+                buildDir.mkdirs();
+                logger.info("Building warmed {} profile template", browser);
+                builder.build(browser, buildDir);
+                removeLockFiles(buildDir);
+                FileUtils.deleteDirectory(template);
+                if (!buildDir.renameTo(template)) {
+                    throw new IOException("could not move template into place at " + template);
+                }
+                new File(template, READY_MARKER).createNewFile();
+                logger.info("Built {} profile template in {} ms ({} MB)", browser,
+                        System.currentTimeMillis() - startTime, FileUtils.sizeOfDirectory(template) / (1024 * 1024));
+                return template;
+            } catch (Exception e) {
+                logger.warn("Could not build {} profile template, sessions will use throwaway profiles: {}",
+                        browser, e.getMessage());
+                failedTemplates.put(browser, Boolean.TRUE);
+                FileUtils.deleteQuietly(buildDir);
+                return null;
+            }
+        }
+    }
+
+    private static boolean isFresh(File template) {
+        File marker = new File(template, READY_MARKER);
+        return marker.isFile() && System.currentTimeMillis() - marker.lastModified()
+                < TimeUnit.HOURS.toMillis(configReader.getBrowserProfileTemplateTtlHours());
+    }
+
+    /**
+     * Copy a template, using a copy-on-write clone where the filesystem allows
+     */
+    private static void copyProfile(File template, File target) throws IOException {
+        target.getParentFile().mkdirs();
+        try {
+            Process process = new ProcessBuilder("cp", "-a", "--reflink=auto",
+                    template.getAbsolutePath(), target.getAbsolutePath())
+                    .redirectErrorStream(true).start();
+            if (process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                return;
+            }
+            process.destroyForcibly();
+            FileUtils.deleteQuietly(target);
+        } catch (IOException e) {
+            // no GNU cp on this platform
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while copying profile", e);
+        }
+        FileUtils.copyDirectory(template, target);
+    }
+
+    private static void removeLockFiles(File profileDir) throws IOException {
+        for (String lockFile : LOCK_FILES) {
+            Files.deleteIfExists(new File(profileDir, lockFile).toPath());
+        }
+    }
+
+    /**
+     * Remove session profiles left behind by runs that were killed
+     */
+    private static void cleanStaleSessionProfiles() {
+        if (staleSessionsCleaned) {
+            return;
+        }
+        staleSessionsCleaned = true;
+        File[] sessions = new File(getWorkspace(), "sessions").listFiles();
+        if (sessions != null) {
+            long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+            for (File session : sessions) {
+                if (session.lastModified() < cutoff) {
+                    FileUtils.deleteQuietly(session);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples memory (RSS) and CPU time of the browser process trees behind the
+ * sessions that tests are currently using, on a background thread.
+ * Each test opens a window on its session; closing the window returns the
+ * peak and average figures seen while the test ran. Linux only: on other
+ * platforms, or when a session's processes are not tracked, windows are no-ops.
+ */
+public class BrowserResourceSampler {
+
+    private static final Logger logger = LogManager.getLogger(BrowserResourceSampler.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    // /proc reports CPU times in USER_HZ, which is 100 on Linux
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+    private static final Map<Thread, Window> activeWindows = new ConcurrentHashMap<>();
+    private static volatile ScheduledExecutorService scheduler;
+
+    private BrowserResourceSampler() {
+    }
+
+    /**
+     * Resource usage of one session's processes during one test
+     */
+    public static class ResourceUsage {
+        private final long peakRssBytes;
+        private final long averageRssBytes;
+        private final long cpuMillis;
+        private final long wallMillis;
+        private final int samples;
+
+        ResourceUsage(long peakRssBytes, long averageRssBytes, long cpuMillis, long wallMillis, int samples) {
+            this.peakRssBytes = peakRssBytes;
+            this.averageRssBytes = averageRssBytes;
+            this.cpuMillis = cpuMillis;
+            this.wallMillis = wallMillis;
+            this.samples = samples;
+        }
+
+        public long getPeakRssMb() {
+            return peakRssBytes / (1024 * 1024);
+        }
+
+        public long getAverageRssMb() {
+            return averageRssBytes / (1024 * 1024);
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        /**
+         * Get average CPU load while the test ran
+         * @return Percentage of one core (may exceed 100 for multi-process browsers)
+         */
+        public double getAverageCpuPercent() {
+            return wallMillis > 0 ? 100.0 * cpuMillis / wallMillis : 0;
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        /**
+         * Format memory figures for the report
+         * @return e.g. "peak 812 MB, avg 640 MB (12 samples)"
+         */
+        public String formatMemory() {
+            return String.format("peak %d MB, avg %d MB (%d samples)", getPeakRssMb(), getAverageRssMb(), samples);
+        }
+
+        /**
+         * Format CPU figures for the report
+         * @return e.g. "4.20 s, avg 35.0% of one core"
+         */
+        public String formatCpu() {
+            return String.format("%.2f s, avg %.1f%% of one core", cpuMillis / 1000.0, getAverageCpuPercent());
+        }
+    }
+
+    /**
+     * Counters collected for one test on one session
+     */
+    private static class Window {
+        private final BrowserProcessTree processTree;
+        private final long startedAt = System.currentTimeMillis();
+        // pid -> CPU ticks when first seen in this window (0 for processes started during it)
+        private final Map<Integer, Long> baselineCpuTicks = new HashMap<>();
+        // pid -> latest CPU ticks, kept after a process exits so its CPU time still counts
+        private final Map<Integer, Long> latestCpuTicks = new HashMap<>();
+        private long peakRssBytes;
+        private long totalRssBytes;
+        private int samples;
+
+        Window(BrowserProcessTree processTree) {
+            this.processTree = processTree;
+        }
+
+        synchronized void sample(boolean baseline) {
+            processTree.refresh();
+            long rssBytes = 0;
+            for (int pid : processTree.getLivePids()) {
+                ProcFs.ProcessStat stat = ProcFs.readStat(pid);
+                if (stat == null) {
+                    continue;
+                }
+                long cpuTicks = stat.utimeTicks + stat.stimeTicks;
+                if (!baselineCpuTicks.containsKey(pid)) {
+                    baselineCpuTicks.put(pid, baseline ? cpuTicks : 0L);
+                }
+                latestCpuTicks.put(pid, cpuTicks);
+                rssBytes += ProcFs.readRssBytes(pid);
+            }
+            peakRssBytes = Math.max(peakRssBytes, rssBytes);
+            totalRssBytes += rssBytes;
+            samples++;
+        }
+
+        synchronized ResourceUsage toUsage() {
+            long cpuTicks = 0;
+            for (Map.Entry<Integer, Long> entry : latestCpuTicks.entrySet()) {
+                cpuTicks += Math.max(0, entry.getValue() - baselineCpuTicks.get(entry.getKey()));
+            }
+            return new ResourceUsage(peakRssBytes, samples > 0 ? totalRssBytes / samples : 0,
+                    cpuTicks * 1000 / CLOCK_TICKS_PER_SECOND, System.currentTimeMillis() - startedAt, samples);
+        }
+    }
+
+    /**
+     * Start measuring the session the current thread's test is using
+     * @param session Session borrowed for the test (may be null)
+     */
+    public static void beginTestWindow(ManagedSession session) {
+        activeWindows.remove(Thread.currentThread());
+        if (!configReader.isTelemetryEnabled() || session == null || session.getProcessTree() == null) {
+            return;
+        }
+        Window window = new Window(session.getProcessTree());
+        window.sample(true);
+        activeWindows.put(Thread.currentThread(), window);
+        ensureStarted();
+    }
+
+    /**
+     * Stop measuring for the current thread's test
+     * @return Usage seen during the test, or null if nothing was measured
+     */
+    public static ResourceUsage endTestWindow() {
+        Window window = activeWindows.remove(Thread.currentThread());
+        if (window == null) {
+            return null;
+        }
+        window.sample(false);
+        return window.toUsage();
+    }
+
+    private static void ensureStarted() {
+        if (scheduler == null) {
+            synchronized (BrowserResourceSampler.class) {
+                if (scheduler == null) {
+                    long interval = Math.max(100, configReader.getTelemetrySampleIntervalMs());
+                    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "browser-resource-sampler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.scheduleWithFixedDelay(BrowserResourceSampler::sampleAll,
+                            interval, interval, TimeUnit.MILLISECONDS);
+                    scheduler = executor;
+                    logger.info("Browser resource sampler started (interval: {} ms)", interval);
+                }
+            }
+        }
+    }
+
+    private static void sampleAll() {
+        for (Window window : activeWindows.values()) {
+            try {
+                window.sample(false);
+            } catch (Exception e) {
+                logger.debug("Browser resource sample failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nse.stock.utils;
+
+/**
+ * Thrown when a browser or its driver binary is known to be unavailable on this machine
+ * Tests treat it as a skip rather than a failure
+ */
+public class BrowserUnavailableException extends RuntimeException {
+
+    private final String browser;
+
+    public BrowserUnavailableException(String browser, String message) {
+        super(message);
+        this.browser = browser;
+    }
+
+    public BrowserUnavailableException(String browser, String message, Throwable cause) {
+        super(message, cause);
+        this.browser = browser;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+}
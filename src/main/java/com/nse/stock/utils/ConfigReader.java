@@ -14,7 +14,7 @@ import java.util.Properties;
 public class ConfigReader {
     
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
-    private static ConfigReader instance;
+    private static volatile ConfigReader instance;
     private Properties properties;
     
     private ConfigReader() {
@@ -99,10 +99,87 @@ public class ConfigReader {
         return Integer.parseInt(getProperty("explicit.wait", "20"));
     }
     
+    public String getBrowserLaunchProfile() {
+        return getProperty("browser.launch.profile", "full");
+    }
+    
+    public String[] getBlockedHosts() {
+        String hosts = getProperty("browser.blocked.hosts",
+                "googletagmanager.com,google-analytics.com,doubleclick.net,googlesyndication.com,"
+                + "googleadservices.com,facebook.net,hotjar.com,clarity.ms,taboola.com,outbrain.com");
+        return hosts.trim().isEmpty() ? new String[0] : hosts.trim().split("\\s*,\\s*");
+    }
+    
+    public String getPageLoadTimingsFile() {
+        return getProperty("page.load.timings.file",
+                System.getProperty("user.home") + "/.cache/nse-stock-automation/page-load-timings.properties");
+    }
+    
+    public String getPageLoadStrategy() {
+        return getProperty("page.load.strategy", "normal");
+    }
+    
     public int getPageLoadTimeout() {
         return Integer.parseInt(getProperty("page.load.timeout", "30"));
     }
     
+    public boolean isOverlayAutoDismissEnabled() {
+        return Boolean.parseBoolean(getProperty("overlay.auto.dismiss.enabled", "true"));
+    }
+    
+    public int getTestTimeBudgetSeconds() {
+        return Integer.parseInt(getProperty("test.time.budget.seconds", "0"));
+    }
+    
+    public int getLocatorChainTimeoutMs() {
+        return Integer.parseInt(getProperty("locator.chain.timeout.ms", "2000"));
+    }
+    
+    public boolean isLocatorStatsEnabled() {
+        return Boolean.parseBoolean(getProperty("locator.stats.enabled", "true"));
+    }
+    
+    public double getLocatorStatsDecay() {
+        return Double.parseDouble(getProperty("locator.stats.decay", "0.8"));
+    }
+    
+    public String getLocatorStatsFile() {
+        return getProperty("locator.stats.file",
+                System.getProperty("user.home") + "/.cache/nse-stock-automation/locator-stats.properties");
+    }
+    
+    public String getExtractionMode() {
+        return getProperty("extraction.mode", "batch");
+    }
+    
+    public String getSnapshotDirectory() {
+        return getProperty("extraction.snapshot.directory", "test-output/snapshots");
+    }
+    
+    public String getSnapshotKeep() {
+        return getProperty("extraction.snapshot.keep", "failed");
+    }
+    
+    public int getSnapshotParserThreads() {
+        return Integer.parseInt(getProperty("extraction.snapshot.parser.threads", "2"));
+    }
+    
+    public String getWaitBackend() {
+        return getProperty("wait.backend", "polling");
+    }
+    
+    public int getReadinessQuietWindowMs() {
+        return Integer.parseInt(getProperty("readiness.quiet.window.ms", "300"));
+    }
+    
+    public int getReadinessMaxWaitMs() {
+        return Integer.parseInt(getProperty("readiness.max.wait.ms", "5000"));
+    }
+    
+    public int getReadinessPollIntervalMs() {
+        return Integer.parseInt(getProperty("readiness.poll.interval.ms", "100"));
+    }
+    
     // URL Configuration
     public String getNSEBaseUrl() {
         return getProperty("nse.base.url", "https://www.nseindia.com/");
@@ -132,6 +209,9 @@ public class ConfigReader {
     }
     
     public String getScreenshotDirectory() {
+        if (isTmpfsWorkspaceActive()) {
+            return getTmpfsWorkspaceRoot() + "/screenshots";
+        }
         return getProperty("screenshot.directory", "test-output/screenshots");
     }
     
@@ -166,4 +246,216 @@ public class ConfigReader {
     public int getMaxRetryCount() {
         return Integer.parseInt(getProperty("max.retry.count", "2"));
     }
+    
+    // Driver Binary Cache Configuration
+    public String getDriverBinaryCacheFile() {
+        return getProperty("driver.binary.cache.file",
+                System.getProperty("user.home") + "/.cache/nse-stock-automation/driver-binaries.properties");
+    }
+    
+    public boolean isDriverBinaryOffline() {
+        return Boolean.parseBoolean(getProperty("driver.binary.offline", "false"));
+    }
+    
+    public int getDriverBinaryCacheTtlHours() {
+        return Integer.parseInt(getProperty("driver.binary.cache.ttl.hours", "168"));
+    }
+    
+    public int getDriverBinaryNegativeTtlHours() {
+        return Integer.parseInt(getProperty("driver.binary.negative.ttl.hours", "24"));
+    }
+    
+    // Browser Admission Configuration
+    public int getMaxConcurrentBrowsers() {
+        return Integer.parseInt(getProperty("browser.max.concurrent", "0"));
+    }
+    
+    public double getBrowserCpusPerInstance() {
+        return Double.parseDouble(getProperty("browser.cpus.per.instance", "1.0"));
+    }
+    
+    public int getBrowserMemoryPerInstanceMb() {
+        return Integer.parseInt(getProperty("browser.memory.per.instance.mb", "700"));
+    }
+    
+    public int getBrowserMemoryReserveMb() {
+        return Integer.parseInt(getProperty("browser.memory.reserve.mb", "1024"));
+    }
+    
+    public int getBrowserAdmissionTimeout() {
+        return Integer.parseInt(getProperty("browser.admission.timeout", "600"));
+    }
+    
+    // Suite Bootstrap Configuration
+    public boolean isSuiteBootstrapEnabled() {
+        return Boolean.parseBoolean(getProperty("suite.bootstrap.enabled", "true"));
+    }
+    
+    public int getSuitePrewarmBrowsers() {
+        return Integer.parseInt(getProperty("suite.prewarm.browsers", "1"));
+    }
+    
+    public int getSuiteBootstrapTimeout() {
+        return Integer.parseInt(getProperty("suite.bootstrap.timeout", "180"));
+    }
+    
+    // Driver Pool Configuration
+    public boolean isDriverPoolEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.pool.enabled", "true"));
+    }
+    
+    public int getDriverPoolMaxSize() {
+        return Integer.parseInt(getProperty("driver.pool.max.size", "2"));
+    }
+    
+    public int getDriverPoolMaxNavigations() {
+        return Integer.parseInt(getProperty("driver.pool.max.navigations", "50"));
+    }
+    
+    public int getDriverPoolBorrowTimeout() {
+        return Integer.parseInt(getProperty("driver.pool.borrow.timeout", "300"));
+    }
+    
+    public boolean isDriverServiceShared() {
+        return Boolean.parseBoolean(getProperty("driver.service.shared", "true"));
+    }
+    
+    public String getDriverResetStrategy() {
+        return getProperty("driver.reset.strategy", "soft");
+    }
+    
+    // Browser Bulkhead Configuration (per-browser keys such as bulkhead.edge.threads override the defaults)
+    public boolean isBulkheadEnabled() {
+        return Boolean.parseBoolean(getProperty("bulkhead.enabled", "false"));
+    }
+    
+    public int getBulkheadThreads(String browser) {
+        return Integer.parseInt(getProperty("bulkhead." + browser + ".threads", getProperty("bulkhead.threads", "2")));
+    }
+    
+    public int getBulkheadQueueSize(String browser) {
+        return Integer.parseInt(getProperty("bulkhead." + browser + ".queue.size", getProperty("bulkhead.queue.size", "16")));
+    }
+    
+    public int getBulkheadCapacity(String browser) {
+        return Integer.parseInt(getProperty("bulkhead." + browser + ".capacity",
+                getProperty("bulkhead.capacity", String.valueOf(getDriverPoolMaxSize()))));
+    }
+    
+    public int getBulkheadTimeout() {
+        return Integer.parseInt(getProperty("bulkhead.timeout", "300"));
+    }
+    
+    // Session Watchdog Configuration
+    public boolean isWatchdogEnabled() {
+        return Boolean.parseBoolean(getProperty("watchdog.enabled", "false"));
+    }
+    
+    public int getWatchdogIntervalSeconds() {
+        return Integer.parseInt(getProperty("watchdog.interval.seconds", "5"));
+    }
+    
+    public int getWatchdogStallSeconds() {
+        return Integer.parseInt(getProperty("watchdog.stall.seconds", "90"));
+    }
+    
+    public int getWatchdogPingTimeoutSeconds() {
+        return Integer.parseInt(getProperty("watchdog.ping.timeout.seconds", "10"));
+    }
+    
+    public int getWatchdogStandbyTtlSeconds() {
+        return Integer.parseInt(getProperty("watchdog.standby.ttl.seconds", "120"));
+    }
+    
+    // Remote Grid Configuration
+    public String getDriverMode() {
+        return getProperty("driver.mode", "local");
+    }
+    
+    public String[] getGridNodes() {
+        String nodes = getProperty("grid.nodes", "");
+        return nodes.trim().isEmpty() ? new String[0] : nodes.split(",");
+    }
+    
+    public int getGridHealthCheckIntervalSeconds() {
+        return Integer.parseInt(getProperty("grid.health.check.interval.seconds", "15"));
+    }
+    
+    public int getGridStatusTimeoutSeconds() {
+        return Integer.parseInt(getProperty("grid.status.timeout.seconds", "5"));
+    }
+    
+    public int getGridAcquireTimeout() {
+        return Integer.parseInt(getProperty("grid.acquire.timeout", "300"));
+    }
+    
+    // Session Cookie Warm-up Configuration
+    public boolean isCookieWarmupEnabled() {
+        return Boolean.parseBoolean(getProperty("cookie.warmup.enabled", "false"));
+    }
+    
+    public int getCookieWarmupTtlMinutes() {
+        return Integer.parseInt(getProperty("cookie.warmup.ttl.minutes", "30"));
+    }
+    
+    public String getCookieWarmupLandingUrl() {
+        return getProperty("cookie.warmup.landing.url", "https://www.nseindia.com/robots.txt");
+    }
+    
+    // CPU Affinity Configuration
+    public boolean isCpuAffinityEnabled() {
+        return Boolean.parseBoolean(getProperty("cpu.affinity.enabled", "false"));
+    }
+    
+    public int getCpuAffinityJvmCores() {
+        return Integer.parseInt(getProperty("cpu.affinity.jvm.cores", "2"));
+    }
+    
+    public int getCpuAffinityCoresPerBrowser() {
+        return Integer.parseInt(getProperty("cpu.affinity.cores.per.browser", "2"));
+    }
+    
+    // Telemetry Configuration
+    public boolean isTelemetryEnabled() {
+        return Boolean.parseBoolean(getProperty("telemetry.enabled", "true"));
+    }
+    
+    public int getTelemetrySampleIntervalMs() {
+        return Integer.parseInt(getProperty("telemetry.sample.interval.ms", "1000"));
+    }
+    
+    // Browser Profile Template Configuration
+    public boolean isBrowserProfileTemplateEnabled() {
+        return Boolean.parseBoolean(getProperty("browser.profile.template.enabled", "false"));
+    }
+    
+    public int getBrowserProfileTemplateTtlHours() {
+        return Integer.parseInt(getProperty("browser.profile.template.ttl.hours", "24"));
+    }
+    
+    public String getBrowserProfileDirectory() {
+        if (isTmpfsWorkspaceActive()) {
+            return getTmpfsWorkspaceRoot() + "/profiles";
+        }
+        return getProperty("browser.profile.directory",
+                System.getProperty("java.io.tmpdir") + "/nse-stock-automation/profiles");
+    }
+    
+    // tmpfs Workspace Configuration (browser profiles and screenshots in RAM)
+    public boolean isTmpfsWorkspaceEnabled() {
+        return Boolean.parseBoolean(getProperty("workspace.tmpfs.enabled", "false"));
+    }
+    
+    public String getTmpfsWorkspaceRoot() {
+        return getProperty("workspace.tmpfs.root", "/dev/shm/nse-stock-automation");
+    }
+    
+    private boolean isTmpfsWorkspaceActive() {
+        if (!isTmpfsWorkspaceEnabled()) {
+            return false;
+        }
+        java.io.File root = new java.io.File(getTmpfsWorkspaceRoot());
+        java.io.File parent = root.getParentFile();
+        return root.isDirectory() ? root.canWrite() : parent != null && parent.canWrite();
+    }
 }
@@ -0,0 +1,208 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pins browser process trees and the JVM to separate CPU sets on Linux
+ * The CPUs this process may use are split into a set reserved for the JVM's
+ * test threads and fixed-size slots for browsers. Each session gets the least
+ * used slot; processes it spawns later are pinned when the session is handed
+ * to a test. Uses taskset from util-linux.
+ */
+class CpuAffinityPlacer {
+
+    private static final Logger logger = LogManager.getLogger(CpuAffinityPlacer.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+
+    private static final Map<ManagedSession, Set<Integer>> pinnedPids = new ConcurrentHashMap<>();
+    private static List<String> slots;
+    private static int[] slotUsage;
+    private static boolean initialized;
+
+    private CpuAffinityPlacer() {
+    }
+
+    /**
+     * Assign a CPU slot to a new session and pin its processes
+     * @param session Newly created session
+     */
+    static void place(ManagedSession session) {
+        if (!configReader.isCpuAffinityEnabled() || session.getProcessTree() == null || !initialize()) {
+            return;
+        }
+        String cpuSet;
+        synchronized (CpuAffinityPlacer.class) {
+            int slot = 0;
+            for (int i = 1; i < slots.size(); i++) {
+                if (slotUsage[i] < slotUsage[slot]) {
+                    slot = i;
+                }
+            }
+            slotUsage[slot]++;
+            cpuSet = slots.get(slot);
+        }
+        session.setCpuSet(cpuSet);
+        pinnedPids.put(session, ConcurrentHashMap.newKeySet());
+        refresh(session);
+        logger.info("Pinned {} to CPUs {}", session, cpuSet);
+    }
+
+    /**
+     * Pin processes the session's browser spawned since it was last pinned
+     * @param session Session being handed to a test
+     */
+    static void refresh(ManagedSession session) {
+        Set<Integer> pinned = pinnedPids.get(session);
+        BrowserProcessTree processTree = session.getProcessTree();
+        if (pinned == null || processTree == null) {
+            return;
+        }
+        processTree.refresh();
+        List<Integer> unpinned = new ArrayList<>();
+        for (int pid : processTree.getLivePids()) {
+            if (!pinned.contains(pid)) {
+                unpinned.add(pid);
+            }
+        }
+        for (int pid : unpinned) {
+            if (taskset(session.getCpuSet(), pid)) {
+                pinned.add(pid);
+            }
+        }
+    }
+
+    /**
+     * Free the session's CPU slot
+     * @param session Destroyed session
+     */
+    static void release(ManagedSession session) {
+        if (pinnedPids.remove(session) != null) {
+            synchronized (CpuAffinityPlacer.class) {
+                int slot = slots.indexOf(session.getCpuSet());
+                if (slot >= 0) {
+                    slotUsage[slot]--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Split the allowed CPUs into a JVM set and browser slots, and pin the JVM
+     * @return true if placement is possible on this host
+     */
+    private static synchronized boolean initialize() {
+        if (initialized) {
+            return slots != null;
+        }
+        initialized = true;
+
+        List<Integer> cpus = readAllowedCpus();
+        int jvmCores = configReader.getCpuAffinityJvmCores();
+        int coresPerBrowser = Math.max(1, configReader.getCpuAffinityCoresPerBrowser());
+        if (cpus.size() < jvmCores + coresPerBrowser) {
+            logger.warn("CPU affinity disabled: {} CPUs available, need at least {}", cpus.size(), jvmCores + coresPerBrowser);
+            return false;
+        }
+
+        String jvmSet = formatCpuList(cpus.subList(0, jvmCores));
+        List<String> browserSlots = new ArrayList<>();
+        for (int start = jvmCores; start + coresPerBrowser <= cpus.size(); start += coresPerBrowser) {
+            browserSlots.add(formatCpuList(cpus.subList(start, start + coresPerBrowser)));
+        }
+
+        int jvmPid = readJvmPid();
+        if (jvmPid <= 0 || !tasksetAllThreads(jvmSet, jvmPid)) {
+            logger.warn("CPU affinity disabled: could not pin the JVM with taskset");
+            return false;
+        }
+        slots = browserSlots;
+        slotUsage = new int[browserSlots.size()];
+        logger.info("CPU affinity enabled: JVM on CPUs {}, {} browser slot(s) {}", jvmSet, browserSlots.size(), browserSlots);
+        return true;
+    }
+
+    /**
+     * Read the CPUs this process may run on (honours cpusets and container limits)
+     * @return Sorted CPU numbers
+     */
+    private static List<Integer> readAllowedCpus() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("Cpus_allowed_list:")) {
+                    return parseCpuList(line.substring(line.indexOf(':') + 1).trim());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read allowed CPUs: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<Integer> parseCpuList(String list) {
+        List<Integer> cpus = new ArrayList<>();
+        for (String range : list.split(",")) {
+            String[] bounds = range.trim().split("-");
+            int first = Integer.parseInt(bounds[0]);
+            int last = bounds.length > 1 ? Integer.parseInt(bounds[1]) : first;
+            for (int cpu = first; cpu <= last; cpu++) {
+                cpus.add(cpu);
+            }
+        }
+        Collections.sort(cpus);
+        return cpus;
+    }
+
+    private static String formatCpuList(List<Integer> cpus) {
+        List<String> values = new ArrayList<>();
+        for (int cpu : cpus) {
+            values.add(String.valueOf(cpu));
+        }
+        return String.join(",", values);
+    }
+
+    private static int readJvmPid() {
+        try {
+            return Integer.parseInt(Files.readSymbolicLink(Paths.get("/proc/self")).toString());
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static boolean taskset(String cpuSet, int pid) {
+        return run("taskset", "-p", "-c", cpuSet, String.valueOf(pid));
+    }
+
+    private static boolean tasksetAllThreads(String cpuSet, int pid) {
+        return run("taskset", "-a", "-p", "-c", cpuSet, String.valueOf(pid));
+    }
+
+    private static boolean run(String... command) {
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            logger.debug("Could not run {}: {}", command[0], e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches driver binary resolution per JVM and on disk across runs
+ * Also remembers browsers that are unavailable so later sessions fail fast
+ * instead of re-probing WebDriverManager or local installations
+ */
+class DriverBinaryCache {
+
+    private static final Logger logger = LogManager.getLogger(DriverBinaryCache.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static final Object fileLock = new Object();
+
+    /**
+     * Resolves a driver binary and returns its path and version
+     */
+    interface Resolver {
+        Resolution resolve() throws Exception;
+    }
+
+    /**
+     * Outcome of a driver binary resolution
+     */
+    static class Resolution {
+        final String path;
+        final String version;
+        final String unavailableReason;
+        final long resolvedAt;
+
+        private Resolution(String path, String version, String unavailableReason, long resolvedAt) {
+            this.path = path;
+            this.version = version;
+            this.unavailableReason = unavailableReason;
+            this.resolvedAt = resolvedAt;
+        }
+
+        static Resolution available(String path, String version) {
+            return new Resolution(path, version, null, System.currentTimeMillis());
+        }
+
+        boolean isAvailable() {
+            return unavailableReason == null;
+        }
+    }
+
+    private DriverBinaryCache() {
+    }
+
+    /**
+     * Resolve the driver binary for a browser at most once per JVM
+     * Uses the on-disk cache when fresh (or whenever offline) and records failures
+     * @param browser Normalized browser name
+     * @param resolver Online resolution strategy
+     * @throws BrowserUnavailableException if the browser is known to be unavailable
+     */
+    static void resolve(String browser, Resolver resolver) {
+        Resolution resolution = resolutions.get(browser);
+        if (resolution == null) {
+            synchronized (locks.computeIfAbsent(browser, key -> new Object())) {
+                resolution = resolutions.get(browser);
+                if (resolution == null) {
+                    resolution = resolveOnce(browser, resolver);
+                    resolutions.put(browser, resolution);
+                }
+            }
+        }
+
+        if (!resolution.isAvailable()) {
+            throw new BrowserUnavailableException(browser,
+                    browser + " is unavailable on this machine: " + resolution.unavailableReason);
+        }
+        System.setProperty(driverProperty(browser), resolution.path);
+    }
+
+    /**
+     * Check whether a browser has been recorded as unavailable
+     * @param browser Normalized browser name
+     * @return true if sessions for this browser should not be attempted
+     */
+    static boolean isKnownUnavailable(String browser) {
+        Resolution resolution = resolutions.get(browser);
+        if (resolution == null) {
+            resolution = loadPersisted(browser);
+            if (resolution != null && !resolution.isAvailable() && isFresh(resolution, configReader.getDriverBinaryNegativeTtlHours())) {
+                resolutions.put(browser, resolution);
+            }
+        }
+        return resolution != null && !resolution.isAvailable();
+    }
+
+    /**
+     * Record that a browser cannot be started, e.g. its binary is not installed
+     * @param browser Normalized browser name
+     * @param reason Failure description
+     */
+    static void markUnavailable(String browser, String reason) {
+        Resolution resolution = new Resolution(null, null, reason, System.currentTimeMillis());
+        resolutions.put(browser, resolution);
+        persist(browser, resolution);
+        logger.warn("Marked {} as unavailable: {}", browser, reason);
+    }
+
+    /**
+     * Get the system property WebDriver reads the driver path from
+     * @param browser Normalized browser name
+     * @return System property name
+     */
+    static String driverProperty(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static Resolution resolveOnce(String browser, Resolver resolver) {
+        Resolution cached = loadPersisted(browser);
+        boolean offline = configReader.isDriverBinaryOffline();
+        boolean cachedBinaryUsable = cached != null && cached.isAvailable() && isExecutable(cached.path);
+
+        // Offline runs only ever use the on-disk binary; a miss is not remembered across runs
+        if (offline) {
+            if (cachedBinaryUsable) {
+                logger.info("Using cached {} driver {} at {} (offline)", browser, cached.version, cached.path);
+                return cached;
+            }
+            return new Resolution(null, null,
+                    "no cached driver binary and offline mode is enabled", System.currentTimeMillis());
+        }
+
+        if (cached != null && !cached.isAvailable()
+                && isFresh(cached, configReader.getDriverBinaryNegativeTtlHours())) {
+            logger.info("Using cached unavailable result for {}: {}", browser, cached.unavailableReason);
+            return cached;
+        }
+
+        if (cachedBinaryUsable && isFresh(cached, configReader.getDriverBinaryCacheTtlHours())) {
+            logger.info("Using cached {} driver {} at {}", browser, cached.version, cached.path);
+            return cached;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            Resolution resolution = resolver.resolve();
+            logger.info("Resolved {} driver {} at {} in {} ms", browser, resolution.version,
+                    resolution.path, System.currentTimeMillis() - startTime);
+            persist(browser, resolution);
+            return resolution;
+        } catch (Exception e) {
+            if (cachedBinaryUsable) {
+                logger.warn("Driver resolution for {} failed ({}); falling back to cached binary {}",
+                        browser, e.getMessage(), cached.path);
+                return cached;
+            }
+            // May be a transient network or download error, so it is remembered for this JVM only;
+            // only markUnavailable (browser binary missing) is persisted
+            logger.warn("Driver resolution for {} failed after {} ms: {}",
+                    browser, System.currentTimeMillis() - startTime, e.getMessage());
+            return new Resolution(null, null, e.getMessage(), System.currentTimeMillis());
+        }
+    }
+
+    private static boolean isFresh(Resolution resolution, int ttlHours) {
+        return System.currentTimeMillis() - resolution.resolvedAt < TimeUnit.HOURS.toMillis(ttlHours);
+    }
+
+    private static boolean isExecutable(String path) {
+        if (path == null) {
+            return false;
+        }
+        File file = new File(path);
+        return file.isFile() && file.canExecute();
+    }
+
+    private static Resolution loadPersisted(String browser) {
+        Properties properties = readCacheFile();
+        String resolvedAt = properties.getProperty(browser + ".resolvedAt");
+        if (resolvedAt == null) {
+            return null;
+        }
+        try {
+            return new Resolution(properties.getProperty(browser + ".path"),
+                    properties.getProperty(browser + ".version"),
+                    properties.getProperty(browser + ".unavailable"),
+                    Long.parseLong(resolvedAt));
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring corrupt driver cache entry for {}", browser);
+            return null;
+        }
+    }
+
+    private static void persist(String browser, Resolution resolution) {
+        synchronized (fileLock) {
+            Properties properties = readCacheFile();
+            properties.remove(browser + ".path");
+            properties.remove(browser + ".version");
+            properties.remove(browser + ".unavailable");
+            if (resolution.isAvailable()) {
+                properties.setProperty(browser + ".path", resolution.path);
+                if (resolution.version != null) {
+                    properties.setProperty(browser + ".version", resolution.version);
+                }
+            } else {
+                properties.setProperty(browser + ".unavailable", String.valueOf(resolution.unavailableReason));
+            }
+            properties.setProperty(browser + ".resolvedAt", String.valueOf(resolution.resolvedAt));
+
+            File cacheFile = new File(configReader.getDriverBinaryCacheFile());
+            File parentDir = cacheFile.getParentFile();
+            if (parentDir != null && !parentDir.exists()) {
+                parentDir.mkdirs();
+            }
+            try (OutputStream outputStream = new FileOutputStream(cacheFile)) {
+                properties.store(outputStream, "Resolved WebDriver binaries");
+            } catch (IOException e) {
+                logger.warn("Could not write driver binary cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+    }
+
+    private static Properties readCacheFile() {
+        Properties properties = new Properties();
+        File cacheFile = new File(configReader.getDriverBinaryCacheFile());
+        if (cacheFile.isFile()) {
+            synchronized (fileLock) {
+                try (InputStream inputStream = new FileInputStream(cacheFile)) {
+                    properties.load(inputStream);
+                } catch (IOException e) {
+                    logger.warn("Could not read driver binary cache {}: {}", cacheFile, e.getMessage());
+                }
+            }
+        }
+        return properties;
+    }
+}
@@ -1,8 +1,12 @@
 package com.nse.stock.utils;
 
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import com.gargoylesoftware.htmlunit.WebClient;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -10,28 +14,97 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Enhanced Driver Manager class with comprehensive Edge browser support
  * Compatible with Selenium 3.x and handles WebDriverManager network issues
  * Supports Chrome, Firefox, and Edge browsers with parallel execution
+ * Optionally keeps a bounded per-browser pool of reusable sessions and
+ * soft-resets browsers between tests instead of quitting them.
+ * Chrome and Edge sessions can share one long-lived driver server per browser.
+ * Concurrent browsers are capped by the CPUs and memory available to the process.
+ * On Linux the process tree of every session is tracked so exactly those
+ * processes can be reaped when quit fails or the JVM exits.
+ * A watchdog replaces sessions whose browser died or whose commands hang.
+ * Each browser type can be isolated in its own bulkhead (executor + capacity).
+ * In remote mode sessions are routed across a list of Selenium grid nodes.
+ * The "htmlunit" browser runs in-process without a browser binary.
  */
 public class DriverManager {
     
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
-    private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<ManagedSession> sessionThreadLocal = new ThreadLocal<>();
     private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final Map<String, DriverPool> driverPools = new ConcurrentHashMap<>();
+    private static final Map<String, BrowserBulkhead> bulkheads = new ConcurrentHashMap<>();
+    private static final Set<ManagedSession> liveSessions = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger browserLaunches = new AtomicInteger();
+    private static final AtomicInteger launchesAvoided = new AtomicInteger();
+    private static final BrowserAdmissionController admissionController = new BrowserAdmissionController();
+    // At most one replacement session per browser, launched by the watchdog after a failure
+    private static final Map<String, ManagedSession> standbySessions = new ConcurrentHashMap<>();
+    private static final AtomicInteger watchdogReplacements = new AtomicInteger();
+    private static volatile SessionWatchdog watchdog;
+    private static volatile GridNodeRouter gridRouter;
+
+    public static final String RESET_STRATEGY_QUIT = "quit";
+    public static final String RESET_STRATEGY_SOFT = "soft";
+
+    private static final String HTMLUNIT = "htmlunit";
+    private static final long QUIT_GRACE_MILLIS = 2000;
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdownOnExit, "driver-manager-shutdown"));
+    }
     
     /**
      * Get WebDriver instance for the specified browser
+     * Borrows a pooled session when driver pooling is enabled
      * @param browserName Browser name (chrome, firefox, edge)
      * @return WebDriver instance
      */
     public static WebDriver getDriver(String browserName) {
-        if (driverThreadLocal.get() == null) {
-            driverThreadLocal.set(createDriver(browserName));
+        String browser = resolveBrowserName(browserName);
+        ManagedSession current = sessionThreadLocal.get();
+        if (current != null && current.isReleased() && !current.getBrowser().equals(browser)) {
+            // Kept session belongs to another browser type
+            quitDriver();
+            current = null;
         }
-        return driverThreadLocal.get();
+
+        if (current != null && current.isReleased()) {
+            // Session kept on this thread by a soft reset; it gave up its bulkhead slot while idle
+            if (configReader.isBulkheadEnabled()) {
+                getBulkhead(browser).acquireSlot(configReader.getBulkheadTimeout());
+            }
+            current.markUsed();
+            launchesAvoided.incrementAndGet();
+            CpuAffinityPlacer.refresh(current);
+        } else if (current == null) {
+            ManagedSession session = configReader.isBulkheadEnabled()
+                    ? getBulkhead(browser).acquire(() -> obtainSession(browser), DriverManager::disposeOrphanedSession,
+                            configReader.getBulkheadTimeout())
+                    : obtainSession(browser);
+            session.markUsed();
+            CpuAffinityPlacer.refresh(session);
+            sessionThreadLocal.set(session);
+        }
+        return sessionThreadLocal.get().getDriver();
     }
     
     /**
@@ -39,47 +112,527 @@ public class DriverManager {
      * @return Current WebDriver instance
      */
     public static WebDriver getDriver() {
-        return driverThreadLocal.get();
+        ManagedSession session = sessionThreadLocal.get();
+        return session != null ? session.getDriver() : null;
+    }
+
+    /**
+     * Get the session owned by the current thread
+     * @return Current ManagedSession or null
+     */
+    public static ManagedSession getCurrentSession() {
+        return sessionThreadLocal.get();
+    }
+
+    /**
+     * Pre-launch idle sessions into the pool for a browser
+     * @param browserName Browser name
+     * @param count Number of sessions to launch
+     * @return Number of sessions launched
+     */
+    public static int prewarmPool(String browserName, int count) {
+        return getPool(resolveBrowserName(browserName)).prewarm(count);
+    }
+
+    /**
+     * Borrow a pooled session or launch a new one
+     * @param browser Normalized browser name
+     * @return Session for the current thread
+     */
+    private static ManagedSession obtainSession(String browser) {
+        return configReader.isDriverPoolEnabled()
+                ? getPool(browser).borrow(configReader.getDriverPoolBorrowTimeout())
+                : takeStandbyOrCreate(browser);
+    }
+
+    /**
+     * Get or create the bulkhead for a browser
+     * @param browser Normalized browser name
+     * @return BrowserBulkhead for the browser
+     */
+    private static BrowserBulkhead getBulkhead(String browser) {
+        return bulkheads.computeIfAbsent(browser, key -> new BrowserBulkhead(key,
+                configReader.getBulkheadThreads(key), configReader.getBulkheadQueueSize(key),
+                configReader.getBulkheadCapacity(key)));
+    }
+
+    /**
+     * Hand back a session that arrived after the test thread stopped waiting for it
+     * @param session Orphaned session
+     */
+    private static void disposeOrphanedSession(ManagedSession session) {
+        if (session.isPooled()) {
+            session.setReleased(true);
+            getPool(session.getBrowser()).release(session);
+        } else {
+            destroySession(session);
+        }
+    }
+
+    /**
+     * Free the bulkhead slot held by the current thread's session
+     * @param session Session leaving the current thread
+     */
+    private static void releaseBulkhead(ManagedSession session) {
+        if (configReader.isBulkheadEnabled()) {
+            BrowserBulkhead bulkhead = bulkheads.get(session.getBrowser());
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Get queueing and throughput figures of every browser bulkhead
+     * @return Metrics keyed by browser name
+     */
+    public static Map<String, String> getBulkheadMetrics() {
+        Map<String, String> metrics = new TreeMap<>();
+        for (Map.Entry<String, BrowserBulkhead> entry : bulkheads.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue().describeMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Use a standby session launched by the watchdog, or launch a new one
+     * @param browser Normalized browser name
+     * @return Session for the current thread
+     */
+    private static ManagedSession takeStandbyOrCreate(String browser) {
+        ManagedSession session = standbySessions.remove(browser);
+        if (session != null) {
+            logger.info("Using standby {} launched by the session watchdog", session);
+            launchesAvoided.incrementAndGet();
+            return session;
+        }
+        return createSession(browser);
+    }
+
+    /**
+     * Get or create the session pool for a browser
+     * @param browser Normalized browser name
+     * @return DriverPool for the browser
+     */
+    private static DriverPool getPool(String browser) {
+        return driverPools.computeIfAbsent(browser, key -> new DriverPool(key,
+                configReader.getDriverPoolMaxSize(), configReader.getDriverPoolMaxNavigations()));
+    }
+
+    /**
+     * Normalize browser name, falling back to the configured browser
+     * @param browserName Browser name or null
+     * @return Lower-case browser name
+     */
+    private static String resolveBrowserName(String browserName) {
+        return browserName != null && !browserName.trim().isEmpty()
+                ? browserName.trim().toLowerCase() : configReader.getBrowser().toLowerCase();
+    }
+
+    /**
+     * Launch a new browser session
+     * @param browserName Browser name
+     * @return New ManagedSession
+     */
+    static ManagedSession createSession(String browserName) {
+        return createSession(browserName, true);
+    }
+
+    /**
+     * Launch a new browser session
+     * @param browserName Browser name
+     * @param waitForSlot Wait for a free admission slot; if false, give up at once when none is free
+     * @return New ManagedSession, or null if waitForSlot is false and no slot was free
+     */
+    private static ManagedSession createSession(String browserName, boolean waitForSlot) {
+        String browser = resolveBrowserName(browserName);
+        if (isRemoteMode() || HTMLUNIT.equals(browser)) {
+            // Browsers run on grid nodes or inside the JVM: no local driver, admission slot, profile or processes
+            ManagedSession session = new ManagedSession(browser, createDriver(browser, null));
+            liveSessions.add(session);
+            browserLaunches.incrementAndGet();
+            ensureWatchdogStarted();
+            return session;
+        }
+        setupDriverBinary(browser);
+        // Clone the profile before taking a slot: building the template launches a browser of its own
+        File profileDir = BrowserProfileManager.createSessionProfile(browser, DriverManager::warmProfileTemplate);
+        ManagedSession session;
+        try {
+            if (waitForSlot) {
+                admissionController.acquire(browser, DriverManager::evictIdleSession);
+            } else if (!admissionController.tryAcquire()) {
+                BrowserProfileManager.deleteSessionProfile(profileDir);
+                return null;
+            }
+        } catch (RuntimeException e) {
+            BrowserProfileManager.deleteSessionProfile(profileDir);
+            throw e;
+        }
+        try {
+            session = new ManagedSession(browser, createDriver(browser, profileDir));
+        } catch (RuntimeException e) {
+            admissionController.release();
+            BrowserProfileManager.deleteSessionProfile(profileDir);
+            throw e;
+        }
+        session.setProfileDirectory(profileDir);
+        session.setProcessTree(BrowserProcessTree.capture(browser, session.getRawDriver(),
+                !useSharedDriverService(browser)));
+        CpuAffinityPlacer.place(session);
+        liveSessions.add(session);
+        browserLaunches.incrementAndGet();
+        ensureWatchdogStarted();
+        return session;
+    }
+
+    /**
+     * Start the session watchdog with the first session, if enabled
+     */
+    private static void ensureWatchdogStarted() {
+        if (watchdog == null && configReader.isWatchdogEnabled()) {
+            synchronized (DriverManager.class) {
+                if (watchdog == null) {
+                    SessionWatchdog newWatchdog = new SessionWatchdog(() -> liveSessions, DriverManager::replaceFailedSession,
+                            DriverManager::expireStandbySessions);
+                    newWatchdog.start();
+                    watchdog = newWatchdog;
+                }
+            }
+        }
+    }
+
+    /**
+     * Kill a dead or hung session and launch a replacement in the background
+     * Killing the browser makes the hung command on the test thread fail
+     * immediately; the thread's next session (retry or next test) is the
+     * replacement, which is already running by then
+     * @param session Failed session
+     */
+    static void replaceFailedSession(ManagedSession session) {
+        String browser = session.getBrowser();
+        BrowserProcessTree processTree = session.getProcessTree();
+        if (processTree != null) {
+            processTree.reap();
+        }
+        if (session.isPooled()) {
+            DriverPool pool = getPool(browser);
+            pool.discard(session);
+            pool.prewarm(1);
+        } else if (destroySession(session) && !standbySessions.containsKey(browser)) {
+            launchStandbySession(browser);
+        }
+        watchdogReplacements.incrementAndGet();
+        logger.info("Session watchdog replaced a failed {} session", browser);
+    }
+
+    /**
+     * Launch the standby session of a browser if an admission slot is free right now
+     * The failed test's retry may already be launching its own session, so the
+     * watchdog never waits for a slot and keeps at most one standby per browser
+     * @param browser Normalized browser name
+     */
+    private static void launchStandbySession(String browser) {
+        ManagedSession standby = createSession(browser, false);
+        if (standby == null) {
+            logger.info("No free browser slot, no standby {} session launched", browser);
+            return;
+        }
+        if (standbySessions.putIfAbsent(browser, standby) != null) {
+            destroySession(standby);
+        }
+    }
+
+    /**
+     * Quit standby sessions no test has taken within watchdog.standby.ttl.seconds
+     * Runs on every watchdog check
+     */
+    private static void expireStandbySessions() {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(configReader.getWatchdogStandbyTtlSeconds());
+        for (Map.Entry<String, ManagedSession> entry : standbySessions.entrySet()) {
+            ManagedSession standby = entry.getValue();
+            if (System.currentTimeMillis() - standby.getCreatedAt() > ttlMillis
+                    && standbySessions.remove(entry.getKey(), standby)) {
+                logger.info("Quitting unused standby {}", standby);
+                destroySession(standby);
+            }
+        }
+    }
+
+    /**
+     * Get number of sessions the watchdog replaced after a crash or hang
+     * @return Replacement count
+     */
+    public static int getWatchdogReplacementCount() {
+        return watchdogReplacements.get();
+    }
+
+    /**
+     * Quit one idle pooled or standby session of any browser type to free a browser slot
+     */
+    private static void evictIdleSession() {
+        for (DriverPool pool : driverPools.values()) {
+            if (pool.evictIdle()) {
+                return;
+            }
+        }
+        for (String browser : standbySessions.keySet()) {
+            ManagedSession standby = standbySessions.remove(browser);
+            if (standby != null) {
+                logger.info("Evicting standby {} to free a browser slot", standby);
+                destroySession(standby);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the number of browsers allowed to run at once on this machine
+     * @return Concurrent browser limit
+     */
+    public static int getMaxConcurrentBrowsers() {
+        return admissionController.getMaxConcurrentBrowsers();
+    }
+
+    /**
+     * Record that a test reused an existing browser instead of launching one
+     */
+    static void recordLaunchAvoided() {
+        launchesAvoided.incrementAndGet();
+    }
+
+    /**
+     * Get number of browsers launched so far
+     * @return Browser launch count
+     */
+    public static int getBrowserLaunchCount() {
+        return browserLaunches.get();
+    }
+
+    /**
+     * Get number of tests that reused a browser instead of launching a new one
+     * @return Launches avoided through pooling or soft reset
+     */
+    public static int getLaunchesAvoidedCount() {
+        return launchesAvoided.get();
     }
     
+    /**
+     * Fill an empty profile directory by visiting the NSE pages the tests use,
+     * so their static assets end up in the profile's cache
+     * The template browser holds an admission slot like any other browser
+     * @param browser Normalized browser name
+     * @param profileDir Template profile directory
+     */
+    private static void warmProfileTemplate(String browser, File profileDir) {
+        admissionController.acquire(browser + " profile template", DriverManager::evictIdleSession);
+        WebDriver driver;
+        try {
+            driver = createDriver(browser, profileDir);
+        } catch (RuntimeException e) {
+            admissionController.release();
+            throw e;
+        }
+        try {
+            String[] warmUpUrls = {
+                configReader.getNSEBaseUrl(),
+                configReader.getNSEGetQuoteUrl() + "?symbol=" + configReader.getTestStocks()[0].trim()
+            };
+            for (String url : warmUpUrls) {
+                driver.get(url);
+                // Let subresources finish even under the eager/none page load strategy
+                new WebDriverWait(driver, configReader.getPageLoadTimeout()).until(webDriver ->
+                        "complete".equals(((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
+            }
+        } finally {
+            driver.quit();
+            admissionController.release();
+        }
+    }
+
     /**
      * Create WebDriver instance based on browser name
-     * @param browserName Browser name
+     * @param browser Browser name
+     * @param profileDir Profile directory to launch with, or null for a throwaway profile
      * @return WebDriver instance
      */
-    private static WebDriver createDriver(String browserName) {
+    private static WebDriver createDriver(String browser, File profileDir) {
         WebDriver driver;
-        String browser = browserName != null ? browserName.toLowerCase() : 
-                        configReader.getBrowser().toLowerCase();
         
         logger.info("Creating WebDriver for browser: {}", browser);
         
-        switch (browser) {
-            case "chrome":
-                driver = createChromeDriver();
-                break;
-            case "firefox":
-                driver = createFirefoxDriver();
-                break;
-            case "edge":
-                driver = createEdgeDriverWithFallback();
-                break;
-            default:
-                logger.warn("Unknown browser: {}. Defaulting to Chrome", browser);
-                driver = createChromeDriver();
+        try {
+            switch (browser) {
+                case "chrome":
+                    driver = createChromeDriver(profileDir);
+                    break;
+                case HTMLUNIT:
+                    driver = createHtmlUnitDriver();
+                    break;
+                case "firefox":
+                    driver = createFirefoxDriver(profileDir);
+                    break;
+                case "edge":
+                    driver = createEdgeDriverWithFallback(profileDir);
+                    break;
+                default:
+                    logger.warn("Unknown browser: {}. Defaulting to Chrome", browser);
+                    driver = createChromeDriver(profileDir);
+            }
+        } catch (BrowserUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            String missingBinary = findMissingBinaryMessage(e);
+            if (missingBinary != null) {
+                DriverBinaryCache.markUnavailable(browser, missingBinary);
+                throw new BrowserUnavailableException(browser, browser + " is not installed: " + missingBinary, e);
+            }
+            throw e;
         }
         
         logger.info("WebDriver created successfully for browser: {}", browser);
         return driver;
     }
     
+    /**
+     * Resolve and register the driver binary for a browser
+     * Resolution happens once per JVM and is cached on disk, including
+     * "unavailable" results so missing browsers fail fast on later attempts
+     * @param browserName Browser name
+     * @throws BrowserUnavailableException if no driver binary can be resolved
+     */
+    public static void setupDriverBinary(String browserName) {
+        String browser = resolveBrowserName(browserName);
+        if (isRemoteMode() || HTMLUNIT.equals(browser)) {
+            return; // grid nodes bring their own drivers, HtmlUnit needs none
+        }
+        DriverBinaryCache.resolve(browser, () -> {
+            switch (browser) {
+                case "firefox":
+                    return resolveWithWebDriverManager(WebDriverManager.firefoxdriver());
+                case "edge":
+                    return resolveEdgeDriverBinary();
+                default:
+                    return resolveWithWebDriverManager(WebDriverManager.chromedriver());
+            }
+        });
+    }
+
+    /**
+     * Check whether a browser has been recorded as unavailable on this machine
+     * @param browserName Browser name
+     * @return true if the browser can be attempted
+     */
+    public static boolean isBrowserAvailable(String browserName) {
+        return !DriverBinaryCache.isKnownUnavailable(resolveBrowserName(browserName));
+    }
+
+    /**
+     * Run WebDriverManager setup and capture the resolved binary
+     * @param manager WebDriverManager for the browser
+     * @return Resolved driver path and version
+     */
+    private static DriverBinaryCache.Resolution resolveWithWebDriverManager(WebDriverManager manager) {
+        manager.setup();
+        String driverPath = manager.getDownloadedDriverPath();
+        if (driverPath == null) {
+            throw new IllegalStateException("WebDriverManager did not resolve a driver binary");
+        }
+        return DriverBinaryCache.Resolution.available(driverPath, manager.getDownloadedDriverVersion());
+    }
+
+    /**
+     * Resolve EdgeDriver via WebDriverManager, falling back to a local installation
+     * Handles network connectivity issues to Microsoft EdgeDriver servers
+     * @return Resolved driver path and version
+     */
+    private static DriverBinaryCache.Resolution resolveEdgeDriverBinary() {
+        // Method 1: Try WebDriverManager with timeout
+        try {
+            logger.info("Method 1: Attempting WebDriverManager setup with timeout...");
+            WebDriverManager edgeManager = WebDriverManager.edgedriver();
+            edgeManager.timeout(15); // 15 second timeout for faster fallback
+            DriverBinaryCache.Resolution resolution = resolveWithWebDriverManager(edgeManager);
+            logger.info("WebDriverManager setup successful for EdgeDriver");
+            return resolution;
+        } catch (Exception e) {
+            logger.warn("WebDriverManager failed: {}. Trying fallback methods...", e.getMessage());
+        }
+
+        // Method 2: Try to find and use local EdgeDriver
+        logger.info("Method 2: Searching for local EdgeDriver installation...");
+        String edgeDriverPath = findLocalEdgeDriver();
+        if (edgeDriverPath == null) {
+            throw new IllegalStateException("EdgeDriver could not be downloaded and no local installation was found");
+        }
+        logger.info("Using local EdgeDriver at: {}", edgeDriverPath);
+        return DriverBinaryCache.Resolution.available(edgeDriverPath, "local");
+    }
+
+    /**
+     * Start the shared driver server for a browser ahead of the first session
+     * No-op for browsers whose driver cannot serve several sessions
+     * @param browserName Browser name
+     */
+    public static void startDriverService(String browserName) {
+        String browser = resolveBrowserName(browserName);
+        if (HTMLUNIT.equals(browser)) {
+            return; // runs inside the JVM, no driver server to start
+        }
+        if (useSharedDriverService(browser)) {
+            setupDriverBinary(browser);
+            DriverServiceRegistry.getServiceUrl(browser);
+        }
+    }
+
+    /**
+     * Check whether sessions for a browser should use the shared driver server
+     * @param browser Normalized browser name
+     * @return true if enabled and supported by the driver
+     */
+    private static boolean useSharedDriverService(String browser) {
+        return !isRemoteMode() && configReader.isDriverServiceShared() && DriverServiceRegistry.supportsSharedService(browser);
+    }
+
+    /**
+     * Check whether sessions are created on remote grid nodes
+     * @return true if driver.mode is remote
+     */
+    private static boolean isRemoteMode() {
+        return "remote".equalsIgnoreCase(configReader.getDriverMode().trim());
+    }
+
+    /**
+     * Get the router for remote sessions, creating it with the first remote session
+     * @return GridNodeRouter
+     */
+    private static GridNodeRouter getGridRouter() {
+        if (gridRouter == null) {
+            synchronized (DriverManager.class) {
+                if (gridRouter == null) {
+                    gridRouter = new GridNodeRouter();
+                }
+            }
+        }
+        return gridRouter;
+    }
+
+    /**
+     * Get per-node session counts and health for the report
+     * @return Node URL to metrics, empty when not in remote mode
+     */
+    public static Map<String, String> getGridNodeMetrics() {
+        return gridRouter != null ? gridRouter.describeNodes() : new TreeMap<>();
+    }
+
     /**
      * Create Chrome WebDriver with options
+     * @param profileDir User data directory or null for a throwaway profile
      * @return Chrome WebDriver instance
      */
-    private static WebDriver createChromeDriver() {
+    private static WebDriver createChromeDriver(File profileDir) {
         try {
-            WebDriverManager.chromedriver().setup();
+            setupDriverBinary("chrome");
 
             ChromeOptions options = new ChromeOptions();
             options.addArguments("--disable-blink-features=AutomationControlled");
@@ -95,12 +648,27 @@ public class DriverManager {
             if (configReader.isHeadless()) {
                 options.addArguments("--headless");
             }
+            if (profileDir != null) {
+                options.addArguments("--user-data-dir=" + profileDir.getAbsolutePath());
+            }
 
             options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
             options.setExperimentalOption("useAutomationExtension", false);
+            options.setPageLoadStrategy(getPageLoadStrategy());
+            BrowserLaunchProfile.apply(options);
+
+            if (isRemoteMode()) {
+                return getGridRouter().createSession("chrome", options, DriverManager::evictIdleSession);
+            }
+            if (useSharedDriverService("chrome")) {
+                logger.info("Creating Chrome session on shared driver service");
+                return new RemoteWebDriver(DriverServiceRegistry.getServiceUrl("chrome"), options);
+            }
 
             logger.info("Creating Chrome WebDriver with latest driver version");
             return new ChromeDriver(options);
+        } catch (BrowserUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to create Chrome driver: {}", e.getMessage());
             throw new RuntimeException("Chrome driver setup failed: " + e.getMessage(), e);
@@ -109,10 +677,11 @@ public class DriverManager {
     
     /**
      * Create Firefox WebDriver with options
+     * @param profileDir Profile directory or null for a throwaway profile
      * @return Firefox WebDriver instance
      */
-    private static WebDriver createFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
+    private static WebDriver createFirefoxDriver(File profileDir) {
+        setupDriverBinary("firefox");
 
         FirefoxOptions options = new FirefoxOptions();
 
@@ -129,58 +698,77 @@ public class DriverManager {
         options.addPreference("dom.webnotifications.enabled", false);
         options.addArguments("--width=1920");
         options.addArguments("--height=1080");
+        if (profileDir != null) {
+            options.addArguments("-profile", profileDir.getAbsolutePath());
+        }
+        options.setPageLoadStrategy(getPageLoadStrategy());
+        BrowserLaunchProfile.apply(options);
 
+        if (isRemoteMode()) {
+            return getGridRouter().createSession("firefox", options, DriverManager::evictIdleSession);
+        }
         logger.info("Creating Firefox WebDriver");
         return new FirefoxDriver(options);
     }
     
+    /**
+     * Create an in-process HtmlUnit driver with JavaScript enabled
+     * No browser process is started, so it suits runs against static or
+     * recorded pages that only check extraction and calculation logic
+     * @return HtmlUnit WebDriver instance
+     */
+    private static WebDriver createHtmlUnitDriver() {
+        logger.info("Creating HtmlUnit WebDriver");
+        return new HtmlUnitDriver(BrowserVersion.CHROME, true) {
+            @Override
+            protected WebClient modifyWebClient(WebClient client) {
+                // Third-party scripts on real pages must not fail the run
+                client.getOptions().setThrowExceptionOnScriptError(false);
+                client.getOptions().setCssEnabled(false);
+                return client;
+            }
+        };
+    }
+    
     /**
      * Create Edge WebDriver with comprehensive fallback mechanism
      * Handles network connectivity issues to Microsoft EdgeDriver servers
+     * @param profileDir User data directory or null for a throwaway profile
      * @return Edge WebDriver instance
      */
-    private static WebDriver createEdgeDriverWithFallback() {
+    private static WebDriver createEdgeDriverWithFallback(File profileDir) {
         logger.info("Starting Edge WebDriver setup with enhanced fallback mechanism...");
-
-        // Method 1: Try WebDriverManager with timeout
-        try {
-            logger.info("Method 1: Attempting WebDriverManager setup with timeout...");
-            WebDriverManager edgeManager = WebDriverManager.edgedriver();
-            edgeManager.timeout(15); // 15 second timeout for faster fallback
-            edgeManager.setup();
-            logger.info("WebDriverManager setup successful for EdgeDriver");
-        } catch (Exception e) {
-            logger.warn("WebDriverManager failed: {}. Trying fallback methods...", e.getMessage());
-
-            // Method 2: Try to find and use local EdgeDriver
-            try {
-                logger.info("Method 2: Searching for local EdgeDriver installation...");
-                String edgeDriverPath = findLocalEdgeDriver();
-                if (edgeDriverPath != null) {
-                    System.setProperty("webdriver.edge.driver", edgeDriverPath);
-                    logger.info("Using local EdgeDriver at: {}", edgeDriverPath);
-                } else {
-                    logger.warn("No local EdgeDriver found. Proceeding with system PATH...");
-                }
-            } catch (Exception fallbackException) {
-                logger.warn("Local EdgeDriver search failed: {}. Proceeding anyway...", fallbackException.getMessage());
-            }
-        }
+        setupDriverBinary("edge");
 
         // Create EdgeOptions with basic settings (Selenium 3.x compatible)
         EdgeOptions options = new EdgeOptions();
 
+        // For Selenium 3.x, use capability setting
+        List<String> args = new ArrayList<>();
         if (configReader.isHeadless()) {
-            // For Selenium 3.x, use capability setting
-            options.setCapability("ms:edgeOptions", java.util.Collections.singletonMap("args", 
-                java.util.Arrays.asList("--headless", "--no-sandbox", "--disable-gpu")));
+            args.addAll(java.util.Arrays.asList("--headless", "--no-sandbox", "--disable-gpu"));
         } else {
             // Basic options for non-headless mode
-            options.setCapability("ms:edgeOptions", java.util.Collections.singletonMap("args", 
-                java.util.Arrays.asList("--no-sandbox", "--disable-gpu", "--remote-allow-origins=*")));
+            args.addAll(java.util.Arrays.asList("--no-sandbox", "--disable-gpu", "--remote-allow-origins=*"));
+        }
+        if (profileDir != null) {
+            args.add("--user-data-dir=" + profileDir.getAbsolutePath());
         }
+        Map<String, Object> edgeOptions = new HashMap<>();
+        edgeOptions.put("args", args);
+        BrowserLaunchProfile.apply(edgeOptions);
+        options.setCapability("ms:edgeOptions", edgeOptions);
+        options.setPageLoadStrategy(getPageLoadStrategy().toString());
 
         try {
+            if (isRemoteMode()) {
+                return getGridRouter().createSession("edge", options, DriverManager::evictIdleSession);
+            }
+            if (useSharedDriverService("edge")) {
+                logger.info("Creating Edge session on shared driver service");
+                return new RemoteWebDriver(DriverServiceRegistry.getServiceUrl("edge"), options);
+            }
+
             logger.info("Creating Edge WebDriver with basic options...");
             return new EdgeDriver(options);
         } catch (Exception e) {
@@ -189,6 +777,43 @@ public class DriverManager {
         }
     }
     
+    /**
+     * Get the configured page load strategy
+     * With eager or none, driver.get() returns before ads and analytics finish
+     * loading and the page objects wait for the elements they need instead
+     * @return PageLoadStrategy, NORMAL if the configured value is unknown
+     */
+    private static PageLoadStrategy getPageLoadStrategy() {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(configReader.getPageLoadStrategy().trim().toLowerCase());
+        if (strategy == null) {
+            logger.warn("Unknown page.load.strategy '{}', using normal", configReader.getPageLoadStrategy());
+            return PageLoadStrategy.NORMAL;
+        }
+        return strategy;
+    }
+
+    /**
+     * Look through an exception chain for a "browser binary not found" error
+     * @param throwable Session creation failure
+     * @return Matching error message or null if the failure has another cause
+     */
+    private static String findMissingBinaryMessage(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message == null) {
+                continue;
+            }
+            String lower = message.toLowerCase();
+            if ((lower.contains("cannot find") && lower.contains("binary"))
+                    || lower.contains("unable to find binary")
+                    || lower.contains("path to the driver executable must be set")
+                    || lower.contains("driver executable does not exist")) {
+                return message.split("\\R", 2)[0];
+            }
+        }
+        return null;
+    }
+
     /**
      * Find local EdgeDriver executable in common installation paths
      * @return Path to EdgeDriver executable or null if not found
@@ -226,31 +851,219 @@ public class DriverManager {
             }
         }
 
+        // Search the PATH environment variable
+        String pathEnv = System.getenv("PATH");
+        if (pathEnv != null) {
+            for (String dir : pathEnv.split(java.io.File.pathSeparator)) {
+                for (String name : new String[]{"msedgedriver", "msedgedriver.exe"}) {
+                    java.io.File file = new java.io.File(dir, name);
+                    if (file.isFile() && file.canExecute()) {
+                        logger.info("Found EdgeDriver on PATH at: {}", file.getAbsolutePath());
+                        return file.getAbsolutePath();
+                    }
+                }
+            }
+        }
+
         logger.warn("No local EdgeDriver found in standard locations");
         return null;
     }
     
+    /**
+     * Release the current WebDriver instance at the end of a test
+     * With the "soft" strategy the browser is reset (cookies, storage, extra
+     * windows, about:blank) and kept: pooled sessions go back to their pool,
+     * others stay bound to the current thread for its next test.
+     * With the "quit" strategy, or if the reset fails, the browser is quit.
+     * @param resetStrategy "soft" or "quit"
+     */
+    public static void releaseDriver(String resetStrategy) {
+        ManagedSession session = sessionThreadLocal.get();
+        if (session == null) {
+            return;
+        }
+        if (!RESET_STRATEGY_SOFT.equalsIgnoreCase(resetStrategy) || !softReset(session)) {
+            quitDriver();
+            return;
+        }
+        if (session.isPooled()) {
+            try {
+                session.setReleased(true);
+                getPool(session.getBrowser()).release(session);
+            } finally {
+                sessionThreadLocal.remove();
+                releaseBulkhead(session);
+            }
+        } else {
+            // Idle until this thread's next test, so the bulkhead slot is free meanwhile
+            session.setReleased(true);
+            releaseBulkhead(session);
+        }
+    }
+
+    /**
+     * Clear browser state so the next test starts isolated without a relaunch
+     * Storage and cookies are cleared for the origin currently loaded, which is
+     * the only origin the page objects visit
+     * @param session Session to reset
+     * @return true if the reset succeeded
+     */
+    static boolean softReset(ManagedSession session) {
+        WebDriver driver = session.getRawDriver();
+        try {
+            long startTime = System.currentTimeMillis();
+            Set<String> handles = driver.getWindowHandles();
+            String mainHandle = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(mainHandle)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(mainHandle);
+
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); } catch (e) {}" +
+                        "try { window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception e) {
+                logger.debug("Could not clear web storage: {}", e.getMessage());
+            }
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+
+            logger.debug("Soft reset of {} completed in {} ms", session, System.currentTimeMillis() - startTime);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Soft reset failed, browser will be quit: {}", e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Quit the current WebDriver instance with proper cleanup
      */
     public static void quitDriver() {
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
+        ManagedSession session = sessionThreadLocal.get();
+        if (session != null) {
+            // A session kept idle by a soft reset already gave its bulkhead slot back
+            boolean holdsSlot = !session.isReleased();
             try {
-                logger.info("Quitting WebDriver");
-                driver.quit();
-                logger.info("WebDriver quit successfully");
-            } catch (Exception e) {
-                logger.warn("Error while quitting WebDriver: {}", e.getMessage());
-                killBrowserProcesses();
+                if (session.isPooled()) {
+                    getPool(session.getBrowser()).discard(session);
+                } else {
+                    destroySession(session);
+                }
             } finally {
-                driverThreadLocal.remove();
+                sessionThreadLocal.remove();
+                if (holdsSlot) {
+                    releaseBulkhead(session);
+                }
+            }
+        }
+    }
+
+    /**
+     * Quit the browser behind a session, force killing its processes if quit
+     * fails or leaves processes behind
+     * @param session Session to destroy
+     * @return false if the session had already been destroyed
+     */
+    static boolean destroySession(ManagedSession session) {
+        if (!liveSessions.remove(session)) {
+            return false; // already destroyed
+        }
+        BrowserProcessTree processTree = session.getProcessTree();
+        try {
+            logger.info("Quitting WebDriver");
+            session.getRawDriver().quit();
+            logger.info("WebDriver quit successfully");
+            if (processTree != null) {
+                processTree.reapSurvivors(QUIT_GRACE_MILLIS);
+            }
+        } catch (Exception e) {
+            logger.warn("Error while quitting WebDriver: {}", e.getMessage());
+            if (processTree != null) {
+                processTree.reap();
+            } else if (WINDOWS && !isRemoteMode()) {
+                killBrowserProcesses();
+            } else {
+                logger.warn("No process tree recorded for {}, its browser processes may be left running", session);
+            }
+        } finally {
+            releaseSessionResources(session);
+        }
+        return true;
+    }
+
+    /**
+     * Give back what a session held once its browser is gone: grid node capacity,
+     * admission slot, CPU placement and the cloned profile directory
+     * @param session Session removed from liveSessions
+     */
+    private static void releaseSessionResources(ManagedSession session) {
+        if (gridRouter != null) {
+            gridRouter.release(session.getRawDriver());
+        }
+        if (!isRemoteMode() && !HTMLUNIT.equals(session.getBrowser())) {
+            admissionController.release();
+        }
+        CpuAffinityPlacer.release(session);
+        BrowserProfileManager.deleteSessionProfile(session.getProfileDirectory());
+    }
+
+    /**
+     * Quit all pooled and thread-bound sessions (called at suite end and JVM shutdown)
+     */
+    public static void shutdown() {
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+        for (BrowserBulkhead bulkhead : bulkheads.values()) {
+            bulkhead.shutdown();
+        }
+        for (DriverPool pool : driverPools.values()) {
+            try {
+                pool.shutdown();
+            } catch (Exception e) {
+                logger.warn("Error shutting down driver pool: {}", e.getMessage());
+            }
+        }
+        for (ManagedSession session : liveSessions) {
+            destroySession(session);
+        }
+        standbySessions.clear();
+        DriverServiceRegistry.stopAll();
+        if (gridRouter != null) {
+            gridRouter.shutdown();
+        }
+        logger.info("Driver manager shut down (browser launches: {}, launches avoided: {}, watchdog replacements: {})",
+                browserLaunches.get(), launchesAvoided.get(), watchdogReplacements.get());
+    }
+
+    /**
+     * JVM shutdown hook: kill the tracked processes of sessions that are still
+     * live instead of quitting them, since quit can hang on a dead browser
+     * Sessions without a tracked process tree are quit normally
+     */
+    private static void shutdownOnExit() {
+        for (ManagedSession session : liveSessions) {
+            BrowserProcessTree processTree = session.getProcessTree();
+            if (processTree != null && liveSessions.remove(session)) {
+                try {
+                    processTree.reap();
+                } finally {
+                    releaseSessionResources(session);
+                }
             }
         }
+        shutdown();
     }
 
     /**
-     * Force kill browser processes if they don't close properly
+     * Force kill browser processes by image name (Windows only)
+     * Kills every browser on the machine, so it is only used when the
+     * session's own processes are not tracked
      */
     private static void killBrowserProcesses() {
         try {
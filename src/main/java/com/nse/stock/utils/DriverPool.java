@@ -0,0 +1,178 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pool of reusable browser sessions for a single browser type
+ * Sessions are borrowed by test threads and returned instead of being quit,
+ * and are recycled after a configured number of navigations or when unhealthy
+ */
+class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final long IDLE_POLL_MILLIS = 250;
+
+    private final String browser;
+    private final int maxSize;
+    private final int maxNavigations;
+    private final BlockingDeque<ManagedSession> idleSessions = new LinkedBlockingDeque<>();
+    private final Semaphore capacity;
+
+    DriverPool(String browser, int maxSize, int maxNavigations) {
+        this.browser = browser;
+        this.maxSize = maxSize;
+        this.maxNavigations = maxNavigations;
+        this.capacity = new Semaphore(maxSize, true);
+        logger.info("Driver pool created for {} (max size: {}, max navigations: {})",
+                browser, maxSize, maxNavigations);
+    }
+
+    /**
+     * Borrow a session, reusing an idle one when possible
+     * @param timeoutSeconds Maximum time to wait for a free slot
+     * @return Borrowed session
+     */
+    ManagedSession borrow(int timeoutSeconds) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+
+        while (true) {
+            ManagedSession session = idleSessions.pollFirst();
+            if (session != null) {
+                if (isReusable(session)) {
+                    DriverManager.recordLaunchAvoided();
+                    logger.debug("Reusing pooled {}", session);
+                    return session;
+                }
+                discard(session);
+                continue;
+            }
+
+            if (capacity.tryAcquire()) {
+                return createSession();
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new RuntimeException("Timed out after " + timeoutSeconds
+                        + " seconds waiting for a pooled " + browser + " session");
+            }
+
+            try {
+                session = idleSessions.pollFirst(Math.min(remaining, IDLE_POLL_MILLIS), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a pooled " + browser + " session", e);
+            }
+            if (session != null) {
+                idleSessions.offerFirst(session);
+            }
+        }
+    }
+
+    /**
+     * Return a borrowed (already reset) session to the pool, or discard it if it should not be reused
+     * @param session Session being returned
+     */
+    void release(ManagedSession session) {
+        if (isReusable(session)) {
+            idleSessions.offerFirst(session);
+            logger.debug("Returned to pool: {}", session);
+        } else {
+            discard(session);
+        }
+    }
+
+    /**
+     * Destroy a borrowed session and free its slot
+     * Safe to call again for a session that is already destroyed
+     * @param session Session to discard
+     */
+    void discard(ManagedSession session) {
+        logger.info("Recycling pooled {}", session);
+        boolean destroyed = true;
+        try {
+            destroyed = DriverManager.destroySession(session);
+        } finally {
+            if (destroyed) {
+                capacity.release();
+            }
+        }
+    }
+
+    /**
+     * Quit the least recently used idle session to free a browser slot
+     * @return true if a session was evicted
+     */
+    boolean evictIdle() {
+        ManagedSession session = idleSessions.pollLast();
+        if (session == null) {
+            return false;
+        }
+        logger.info("Evicting idle {} to free a browser slot", session);
+        discard(session);
+        return true;
+    }
+
+    /**
+     * Launch idle sessions ahead of time, up to the pool size
+     * @param count Number of sessions to launch
+     * @return Number of sessions actually launched
+     */
+    int prewarm(int count) {
+        int launched = 0;
+        for (int i = 0; i < count && capacity.tryAcquire(); i++) {
+            ManagedSession session = createSession();
+            idleSessions.offerLast(session);
+            launched++;
+        }
+        logger.info("Pre-warmed {} {} session(s)", launched, browser);
+        return launched;
+    }
+
+    /**
+     * Quit every idle session; borrowed sessions are quit when released
+     */
+    void shutdown() {
+        List<ManagedSession> drained = new ArrayList<>();
+        idleSessions.drainTo(drained);
+        for (ManagedSession session : drained) {
+            discard(session);
+        }
+        logger.info("Driver pool for {} shut down ({} idle session(s) closed)", browser, drained.size());
+    }
+
+    int getIdleCount() {
+        return idleSessions.size();
+    }
+
+    int getLiveCount() {
+        return maxSize - capacity.availablePermits();
+    }
+
+    private ManagedSession createSession() {
+        try {
+            ManagedSession session = DriverManager.createSession(browser);
+            session.setPooled(true);
+            return session;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private boolean isReusable(ManagedSession session) {
+        if (maxNavigations > 0 && session.getNavigationCount() >= maxNavigations) {
+            logger.debug("{} reached navigation limit of {}", session, maxNavigations);
+            return false;
+        }
+        return session.isHealthy();
+    }
+}
@@ -0,0 +1,80 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps one long-lived driver server process per browser type
+ * Sessions are created against the shared server over HTTP, so session
+ * creation no longer spawns a driver process or allocates a port.
+ * geckodriver only supports a single session per process, so Firefox
+ * always gets its own driver process.
+ */
+class DriverServiceRegistry {
+
+    private static final Logger logger = LogManager.getLogger(DriverServiceRegistry.class);
+    private static final Map<String, DriverService> services = new HashMap<>();
+
+    private DriverServiceRegistry() {
+    }
+
+    /**
+     * Check whether the driver for a browser can serve several sessions
+     * @param browser Normalized browser name
+     * @return true for chromedriver and msedgedriver
+     */
+    static boolean supportsSharedService(String browser) {
+        return "chrome".equals(browser) || "edge".equals(browser);
+    }
+
+    /**
+     * Get the URL of the shared driver server, starting it if needed
+     * The driver binary must already be resolved (see DriverManager.setupDriverBinary)
+     * @param browser Normalized browser name
+     * @return Base URL of the running driver server
+     */
+    static synchronized URL getServiceUrl(String browser) {
+        DriverService service = services.get(browser);
+        if (service == null || !service.isRunning()) {
+            if (service != null) {
+                logger.warn("Shared {} driver service is no longer running, restarting it", browser);
+            }
+            service = "edge".equals(browser)
+                    ? EdgeDriverService.createDefaultService()
+                    : ChromeDriverService.createDefaultService();
+            try {
+                long startTime = System.currentTimeMillis();
+                service.start();
+                logger.info("Started shared {} driver service at {} in {} ms",
+                        browser, service.getUrl(), System.currentTimeMillis() - startTime);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not start shared " + browser + " driver service", e);
+            }
+            services.put(browser, service);
+        }
+        return service.getUrl();
+    }
+
+    /**
+     * Stop every shared driver server
+     */
+    static synchronized void stopAll() {
+        for (Map.Entry<String, DriverService> entry : services.entrySet()) {
+            try {
+                entry.getValue().stop();
+                logger.info("Stopped shared {} driver service", entry.getKey());
+            } catch (Exception e) {
+                logger.warn("Error stopping shared {} driver service: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        services.clear();
+    }
+}
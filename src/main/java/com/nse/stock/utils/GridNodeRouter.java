@@ -0,0 +1,297 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads remote sessions over a list of Selenium nodes
+ * Each session goes to the healthy node with the lowest share of its
+ * capacity in use. Nodes are health-checked through their /status endpoint;
+ * a node that cannot be reached is taken out of rotation until a later check
+ * finds it ready again, and session creation fails over to the next node.
+ */
+class GridNodeRouter {
+
+    private static final Logger logger = LogManager.getLogger(GridNodeRouter.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final long WAIT_SLICE_MILLIS = 250;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<WebDriver, Node> sessionNodes = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * One Selenium node or standalone server
+     */
+    private static class Node {
+        private final URL url;
+        private final int capacity;
+        private int inUse;
+        private int sessionsCreated;
+        private int failures;
+        private volatile boolean healthy = true;
+
+        Node(URL url, int capacity) {
+            this.url = url;
+            this.capacity = capacity;
+        }
+
+        double load() {
+            return (double) inUse / capacity;
+        }
+    }
+
+    GridNodeRouter() {
+        for (String entry : configReader.getGridNodes()) {
+            String[] parts = entry.trim().split("\\|");
+            try {
+                int capacity = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                nodes.add(new Node(new URL(parts[0].trim()), Math.max(1, capacity)));
+            } catch (MalformedURLException | NumberFormatException e) {
+                throw new RuntimeException("Invalid grid.nodes entry '" + entry + "', expected <url>|<capacity>", e);
+            }
+        }
+        if (nodes.isEmpty()) {
+            throw new RuntimeException("driver.mode is remote but grid.nodes is empty");
+        }
+        checkHealth();
+
+        long interval = configReader.getGridHealthCheckIntervalSeconds();
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.SECONDS);
+        logger.info("Grid router started with {} node(s)", nodes.size());
+    }
+
+    /**
+     * Create a session on the least loaded healthy node, failing over to other nodes
+     * @param browser Browser name (for logging)
+     * @param capabilities Browser options
+     * @param idleEvictor Called while waiting to free node capacity held by idle pooled sessions
+     * @return RemoteWebDriver bound to the chosen node
+     */
+    WebDriver createSession(String browser, Capabilities capabilities, Runnable idleEvictor) {
+        List<Node> tried = new ArrayList<>();
+        RuntimeException lastFailure = null;
+        while (true) {
+            Node node = acquireNode(browser, tried, idleEvictor);
+            if (node == null) {
+                break;
+            }
+            tried.add(node);
+            try {
+                long startTime = System.currentTimeMillis();
+                WebDriver driver = new RemoteWebDriver(node.url, capabilities);
+                sessionNodes.put(driver, node);
+                synchronized (this) {
+                    node.sessionsCreated++;
+                }
+                logger.info("Created {} session on grid node {} in {} ms",
+                        browser, node.url, System.currentTimeMillis() - startTime);
+                return driver;
+            } catch (RuntimeException e) {
+                lastFailure = e;
+                synchronized (this) {
+                    node.failures++;
+                }
+                releaseNode(node);
+                if (isConnectionFailure(e)) {
+                    markUnhealthy(node, e.getMessage());
+                } else {
+                    logger.warn("Grid node {} could not create a {} session: {}", node.url, browser,
+                            e.getMessage() != null ? e.getMessage().split("\\R", 2)[0] : e.toString());
+                }
+            }
+        }
+        throw new RuntimeException("No grid node could create a " + browser + " session (tried "
+                + tried.size() + " of " + nodes.size() + " nodes)", lastFailure);
+    }
+
+    /**
+     * Give back the node capacity held by a session
+     * @param driver Raw driver returned by {@link #createSession}
+     */
+    void release(WebDriver driver) {
+        Node node = sessionNodes.remove(driver);
+        if (node != null) {
+            releaseNode(node);
+        }
+    }
+
+    /**
+     * Get the node a session runs on
+     * @param driver Raw driver returned by {@link #createSession}
+     * @return Node URL or null if the session is not routed
+     */
+    String getNodeUrl(WebDriver driver) {
+        Node node = sessionNodes.get(driver);
+        return node != null ? node.url.toString() : null;
+    }
+
+    /**
+     * Stop health checks
+     */
+    void shutdown() {
+        healthChecker.shutdownNow();
+    }
+
+    /**
+     * Summarize per-node usage for the report
+     * @return Node URL to one-line metrics
+     */
+    synchronized Map<String, String> describeNodes() {
+        Map<String, String> description = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            description.put(node.url.toString(), String.format("sessions: %d, failures: %d, in use: %d/%d, %s",
+                    node.sessionsCreated, node.failures, node.inUse, node.capacity,
+                    node.healthy ? "healthy" : "unhealthy"));
+        }
+        return description;
+    }
+
+    /**
+     * Take a capacity slot on the least loaded healthy node not tried yet
+     * Waits while every candidate node is full, evicting idle sessions between waits
+     * @return Node, or null if no untried healthy node is left
+     */
+    private Node acquireNode(String browser, List<Node> tried, Runnable idleEvictor) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(configReader.getGridAcquireTimeout());
+        boolean logged = false;
+        while (true) {
+            synchronized (this) {
+                Node best = null;
+                boolean candidateExists = false;
+                for (Node node : nodes) {
+                    if (!node.healthy || tried.contains(node)) {
+                        continue;
+                    }
+                    candidateExists = true;
+                    if (node.inUse < node.capacity && (best == null || node.load() < best.load())) {
+                        best = node;
+                    }
+                }
+                if (best != null) {
+                    best.inUse++;
+                    return best;
+                }
+                if (!candidateExists) {
+                    return null;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Timed out waiting for grid node capacity for " + browser);
+                }
+                if (!logged) {
+                    logger.info("All grid nodes are at capacity, {} session is waiting", browser);
+                    logged = true;
+                }
+                try {
+                    wait(Math.min(remaining, WAIT_SLICE_MILLIS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for grid node capacity", e);
+                }
+            }
+            // Outside the lock: quitting an idle session releases its node through releaseNode
+            idleEvictor.run();
+        }
+    }
+
+    private synchronized void releaseNode(Node node) {
+        node.inUse = Math.max(0, node.inUse - 1);
+        notifyAll();
+    }
+
+    private void markUnhealthy(Node node, String reason) {
+        if (node.healthy) {
+            node.healthy = false;
+            logger.warn("Grid node {} taken out of rotation: {}", node.url, reason);
+        }
+    }
+
+    /**
+     * Poll every node's /status endpoint and update its health
+     */
+    private void checkHealth() {
+        for (Node node : nodes) {
+            boolean ready = isReady(node);
+            if (ready && !node.healthy) {
+                logger.info("Grid node {} is ready again", node.url);
+                node.healthy = true;
+                synchronized (this) {
+                    notifyAll();
+                }
+            } else if (!ready) {
+                markUnhealthy(node, "status check failed");
+            }
+        }
+    }
+
+    private boolean isReady(Node node) {
+        HttpURLConnection connection = null;
+        try {
+            String base = node.url.toString();
+            URL statusUrl = new URL(base.endsWith("/") ? base + "status" : base + "/status");
+            connection = (HttpURLConnection) statusUrl.openConnection();
+            int timeoutMillis = (int) TimeUnit.SECONDS.toMillis(configReader.getGridStatusTimeoutSeconds());
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            if (connection.getResponseCode() != 200) {
+                return false;
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    body.write(buffer, 0, read);
+                }
+                String status = new String(body.toByteArray(), StandardCharsets.UTF_8).replaceAll("\\s", "");
+                // Selenium 3 standalone servers and grid hubs both report "ready"
+                return !status.contains("\"ready\":false");
+            }
+        } catch (IOException e) {
+            logger.debug("Grid node {} status check failed: {}", node.url, e.getMessage());
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static boolean isConnectionFailure(Throwable throwable) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable cause = throwable; cause != null && seen.add(cause); cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof UnreachableBrowserException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,244 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for conditions inside the page with one asynchronous script call
+ * The condition is re-checked on every DOM mutation and animation frame and
+ * the script answers as soon as it holds, instead of the client polling
+ * over the wire every 500 ms. If the page navigates while waiting, the
+ * check is restarted on the new document with the remaining time.
+ */
+class InBrowserWait {
+
+    private static final Logger logger = LogManager.getLogger(InBrowserWait.class);
+
+    static final String PRESENT = "present";
+    static final String ALL_PRESENT = "all";
+    static final String VISIBLE = "visible";
+    static final String ANY_VISIBLE = "anyVisible";
+    static final String CLICKABLE = "clickable";
+    static final String INVISIBLE = "invisible";
+    static final String TEXT = "text";
+    static final String TITLE = "title";
+    static final String URL = "url";
+
+    // Arguments: locator kind, selector, mode, text, timeout ms, callback. Answers the match, true, or null on timeout
+    private static final String WAIT_SCRIPT =
+            "var kind = arguments[0], selector = arguments[1], mode = arguments[2], text = arguments[3];" +
+            "var deadline = Date.now() + arguments[4], callback = arguments[arguments.length - 1];" +
+            "function find() {" +
+            "  switch (kind) {" +
+            "    case 'xpath':" +
+            "      var snapshot = document.evaluate(selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      var nodes = [];" +
+            "      for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }" +
+            "      return nodes;" +
+            "    case 'css': return Array.prototype.slice.call(document.querySelectorAll(selector));" +
+            "    case 'id': var element = document.getElementById(selector); return element ? [element] : [];" +
+            "    case 'name': return Array.prototype.slice.call(document.getElementsByName(selector));" +
+            "    case 'className': return Array.prototype.slice.call(document.getElementsByClassName(selector));" +
+            "    case 'tagName': return Array.prototype.slice.call(document.getElementsByTagName(selector));" +
+            "    default: return [];" +
+            "  }" +
+            "}" +
+            "function visible(e) {" +
+            "  var style = window.getComputedStyle(e), rect = e.getBoundingClientRect();" +
+            "  return style.display !== 'none' && style.visibility !== 'hidden' && parseFloat(style.opacity) > 0" +
+            "      && rect.width > 0 && rect.height > 0;" +
+            "}" +
+            "function check() {" +
+            "  if (mode === 'title') { return document.title.indexOf(text) >= 0 ? true : null; }" +
+            "  if (mode === 'url') { return location.href.indexOf(text) >= 0 ? true : null; }" +
+            "  var found = find(), first = found[0];" +
+            "  switch (mode) {" +
+            "    case 'present': return first || null;" +
+            "    case 'all': return found.length ? found : null;" +
+            "    case 'visible': return first && visible(first) ? first : null;" +
+            "    case 'anyVisible':" +
+            "      for (var j = 0; j < found.length; j++) { if (visible(found[j])) { return found[j]; } }" +
+            "      return null;" +
+            "    case 'clickable': return first && visible(first) && !first.disabled ? first : null;" +
+            "    case 'invisible': return !first || !visible(first) ? true : null;" +
+            "    case 'text': return first && (first.innerText || first.textContent || '').indexOf(text) >= 0 ? true : null;" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "var done = false, observer = null;" +
+            "function attempt() {" +
+            "  if (done) { return true; }" +
+            "  var result = null;" +
+            "  try { result = check(); } catch (e) { result = null; }" +
+            "  if (result === null && Date.now() < deadline) { return false; }" +
+            "  done = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  callback(result);" +
+            "  return true;" +
+            "}" +
+            "if (!attempt()) {" +
+            "  if (window.MutationObserver) {" +
+            "    observer = new MutationObserver(attempt);" +
+            "    observer.observe(document.documentElement || document," +
+            "        {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  }" +
+            "  var nextFrame = window.requestAnimationFrame || function(f) { return setTimeout(f, 50); };" +
+            "  (function tick() { if (!attempt()) { nextFrame(tick); } })();" +
+            "  setTimeout(attempt, Math.max(0, deadline - Date.now()));" +
+            "}";
+
+    private static final long MIN_RETRY_BACKOFF_MILLIS = 50;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 500;
+    // Script timeout last set on each driver, to avoid a round trip per wait
+    private static final Map<WebDriver, Long> scriptTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private InBrowserWait() {
+    }
+
+    /**
+     * Check if a wait can run in the page
+     * @param driver WebDriver instance
+     * @param locator Element locator, or null for title/URL waits
+     * @return true if the driver runs scripts and the locator type can be evaluated in the page
+     */
+    static boolean supports(WebDriver driver, By locator) {
+        return driver instanceof JavascriptExecutor && (locator == null || toLocator(locator) != null);
+    }
+
+    /**
+     * Wait for a single element
+     * @param mode PRESENT, VISIBLE, ANY_VISIBLE or CLICKABLE
+     * @return The element
+     * @throws TimeoutException if the condition does not hold in time
+     */
+    static WebElement element(WebDriver driver, By locator, String mode, int timeoutSeconds) {
+        Object result = await(driver, locator, mode, null, timeoutSeconds);
+        if (result == null) {
+            throw new TimeoutException("Expected condition '" + mode + "' failed for " + locator
+                    + " (tried for " + timeoutSeconds + " second(s) in the browser)");
+        }
+        return (WebElement) result;
+    }
+
+    /**
+     * Wait for at least one matching element
+     * @return All matching elements
+     * @throws TimeoutException if no element appears in time
+     */
+    static List<WebElement> elements(WebDriver driver, By locator, int timeoutSeconds) {
+        Object result = await(driver, locator, ALL_PRESENT, null, timeoutSeconds);
+        if (result == null) {
+            throw new TimeoutException("Expected presence of all elements located by " + locator
+                    + " (tried for " + timeoutSeconds + " second(s) in the browser)");
+        }
+        List<WebElement> elements = new ArrayList<>();
+        for (Object element : (List<?>) result) {
+            elements.add((WebElement) element);
+        }
+        return elements;
+    }
+
+    /**
+     * Wait for a yes/no condition
+     * @param locator Element locator, or null for TITLE and URL
+     * @param mode INVISIBLE, TEXT, TITLE or URL
+     * @param text Text for TEXT, TITLE and URL
+     * @return true if the condition held in time
+     */
+    static boolean condition(WebDriver driver, By locator, String mode, String text, int timeoutSeconds) {
+        return await(driver, locator, mode, text, timeoutSeconds) != null;
+    }
+
+    private static Object await(WebDriver driver, By locator, String mode, String text, int timeoutSeconds) {
+        String[] target = locator != null ? toLocator(locator) : new String[]{"", ""};
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        ensureScriptTimeout(driver, timeoutSeconds);
+        long backoffMillis = MIN_RETRY_BACKOFF_MILLIS;
+
+        while (true) {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            try {
+                return executor.executeAsyncScript(WAIT_SCRIPT, target[0], target[1], mode,
+                        text != null ? text : "", remaining);
+            } catch (ScriptTimeoutException e) {
+                return null;
+            } catch (JavascriptException | StaleElementReferenceException e) {
+                // The page navigated and unloaded the script, wait again on the new document
+                if (!isNavigationError(e)) {
+                    throw e;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    return null;
+                }
+                logger.debug("In-browser wait interrupted, retrying in {} ms: {}", backoffMillis,
+                        e.getMessage().split("\\R", 2)[0]);
+                try {
+                    Thread.sleep(Math.min(backoffMillis, Math.max(1, deadline - System.currentTimeMillis())));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Check if a failed wait script was cut off by the page navigating away
+     * @param e Exception thrown by executeAsyncScript
+     * @return true for a stale element or a script lost to a document unload
+     */
+    private static boolean isNavigationError(WebDriverException e) {
+        if (e instanceof StaleElementReferenceException) {
+            return true;
+        }
+        String message = String.valueOf(e.getMessage()).toLowerCase();
+        return message.contains("unload") || message.contains("context was destroyed")
+                || message.contains("cannot find context");
+    }
+
+    private static void ensureScriptTimeout(WebDriver driver, int timeoutSeconds) {
+        // Leave headroom so the script answers null before the driver gives up
+        long required = timeoutSeconds + 5L;
+        Long current = scriptTimeouts.get(driver);
+        if (current == null || current < required) {
+            driver.manage().timeouts().setScriptTimeout(required, TimeUnit.SECONDS);
+            scriptTimeouts.put(driver, required);
+        }
+    }
+
+    /**
+     * Translate a locator into the kind and selector the wait script understands
+     * @return {kind, selector}, or null for locator types the script cannot evaluate
+     */
+    private static String[] toLocator(By locator) {
+        String description = locator.toString();
+        String[][] prefixes = {
+                {"By.xpath: ", "xpath"}, {"By.cssSelector: ", "css"}, {"By.id: ", "id"},
+                {"By.name: ", "name"}, {"By.className: ", "className"}, {"By.tagName: ", "tagName"}
+        };
+        for (String[] prefix : prefixes) {
+            if (description.startsWith(prefix[0])) {
+                return new String[]{prefix[1], description.substring(prefix[0].length())};
+            }
+        }
+        return null;
+    }
+}
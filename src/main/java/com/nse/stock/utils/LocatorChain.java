@@ -0,0 +1,202 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Ordered fallback locators for one field of a page, resolved under one deadline
+ * Every polling round tries all candidates with findElements (which returns
+ * at once with the implicit wait at zero) and the first element the
+ * extractor accepts wins. A missing field therefore costs one shared
+ * deadline instead of an implicit or explicit wait per candidate. With
+ * locator.stats.enabled the specific candidates are tried in the order
+ * LocatorStats learned for the page, field and browser, so the recent winner
+ * goes first. Trailing catch-all candidates, which also match elements other
+ * than the field, stay last in declared order and never overtake a specific
+ * match.
+ */
+public class LocatorChain {
+
+    private static final Logger logger = LogManager.getLogger(LocatorChain.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final long POLL_MILLIS = 100;
+
+    private final String page;
+    private final String field;
+    private final List<By> candidates;
+    private final int catchAlls;
+
+    /**
+     * Create a chain whose candidates may all be reordered
+     * @param page Page object name (for logging)
+     * @param field Field the chain locates
+     * @param candidates Locators in order of preference
+     */
+    public LocatorChain(String page, String field, List<By> candidates) {
+        this(page, field, candidates, 0);
+    }
+
+    /**
+     * Create a chain
+     * @param page Page object name (for logging)
+     * @param field Field the chain locates
+     * @param candidates Locators in order of preference
+     * @param catchAlls Number of trailing candidates that are never reordered
+     */
+    public LocatorChain(String page, String field, List<By> candidates, int catchAlls) {
+        if (catchAlls < 0 || catchAlls > candidates.size()) {
+            throw new IllegalArgumentException("catchAlls must be between 0 and " + candidates.size() + ": " + catchAlls);
+        }
+        this.page = page;
+        this.field = field;
+        this.candidates = Collections.unmodifiableList(new ArrayList<>(candidates));
+        this.catchAlls = catchAlls;
+    }
+
+    /**
+     * Create a chain of XPath locators
+     * @param page Page object name (for logging)
+     * @param field Field the chain locates
+     * @param xpaths XPath expressions in order of preference
+     * @return LocatorChain
+     */
+    public static LocatorChain ofXpaths(String page, String field, String... xpaths) {
+        return ofXpaths(page, field, 0, xpaths);
+    }
+
+    /**
+     * Create a chain of XPath locators ending in catch-alls
+     * @param page Page object name (for logging)
+     * @param field Field the chain locates
+     * @param catchAlls Number of trailing XPaths that are never reordered
+     * @param xpaths XPath expressions in order of preference
+     * @return LocatorChain
+     */
+    public static LocatorChain ofXpaths(String page, String field, int catchAlls, String... xpaths) {
+        List<By> candidates = new ArrayList<>();
+        for (String xpath : xpaths) {
+            candidates.add(By.xpath(xpath));
+        }
+        return new LocatorChain(page, field, candidates, catchAlls);
+    }
+
+    /**
+     * Resolve the chain with the configured deadline
+     * @param driver WebDriver instance
+     * @param extractor Turns a matching element into a value, or returns null to reject it
+     * @return First accepted value, or null if none resolved before the deadline
+     */
+    public <T> T resolve(WebDriver driver, Function<WebElement, T> extractor) {
+        return resolve(driver, configReader.getLocatorChainTimeoutMs(), extractor);
+    }
+
+    /**
+     * Resolve the chain
+     * @param driver WebDriver instance
+     * @param timeoutMillis Deadline shared by all candidates, cut to the remaining test time budget
+     * @param extractor Turns a matching element into a value, or returns null to reject it
+     * @return First accepted value, or null if none resolved before the deadline
+     */
+    public <T> T resolve(WebDriver driver, long timeoutMillis, Function<WebElement, T> extractor) {
+        String step = page + "." + field;
+        timeoutMillis = TestTimeBudget.clampMillis(step, timeoutMillis);
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + timeoutMillis;
+        boolean adaptive = configReader.isLocatorStatsEnabled();
+        String statsKey = adaptive ? page + "|" + field + "|" + getBrowserName() : null;
+        List<By> ordered = adaptive ? order(statsKey) : candidates;
+        boolean implicitWaitSet = configReader.getImplicitWait() > 0;
+        if (implicitWaitSet) {
+            driver.manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS);
+        }
+        try {
+            while (true) {
+                for (By candidate : ordered) {
+                    T value = tryCandidate(driver, candidate, extractor);
+                    if (value != null) {
+                        if (adaptive) {
+                            LocatorStats.getInstance().recordResolution(statsKey, candidate);
+                        }
+                        logger.debug("{}.{} resolved by {} in {} ms", page, field, candidate,
+                                System.currentTimeMillis() - startTime);
+                        return value;
+                    }
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    logger.debug("{}.{} not resolved by any of {} locators within {} ms",
+                            page, field, candidates.size(), timeoutMillis);
+                    return null;
+                }
+                try {
+                    Thread.sleep(Math.min(POLL_MILLIS, remaining));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        } finally {
+            if (implicitWaitSet) {
+                driver.manage().timeouts().implicitlyWait(configReader.getImplicitWait(), TimeUnit.SECONDS);
+            }
+            TestTimeBudget.record(step, startTime);
+        }
+    }
+
+    /**
+     * Find the first element any candidate matches
+     * @param driver WebDriver instance
+     * @param timeoutMillis Deadline shared by all candidates
+     * @return Element, or null if none matched before the deadline
+     */
+    public WebElement findFirst(WebDriver driver, long timeoutMillis) {
+        return resolve(driver, timeoutMillis, element -> element);
+    }
+
+    private List<By> order(String statsKey) {
+        int reorderable = candidates.size() - catchAlls;
+        List<By> ordered = new ArrayList<>(
+                LocatorStats.getInstance().order(statsKey, candidates.subList(0, reorderable)));
+        ordered.addAll(candidates.subList(reorderable, candidates.size()));
+        return ordered;
+    }
+
+    private String getBrowserName() {
+        ManagedSession session = DriverManager.getCurrentSession();
+        return session != null ? session.getBrowser() : configReader.getBrowser();
+    }
+    
+    private <T> T tryCandidate(WebDriver driver, By candidate, Function<WebElement, T> extractor) {
+        try {
+            for (WebElement element : driver.findElements(candidate)) {
+                try {
+                    T value = extractor.apply(element);
+                    if (value != null) {
+                        return value;
+                    }
+                } catch (WebDriverException e) {
+                    // Element went stale or is not interactable, try the next one
+                }
+            }
+        } catch (WebDriverException e) {
+            logger.debug("{}.{} locator {} failed: {}", page, field, candidate, e.getMessage().split("\\R", 2)[0]);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return page + "." + field + Arrays.toString(candidates.toArray());
+    }
+}
@@ -0,0 +1,161 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns which fallback locator of a page field wins, per browser, across runs
+ * Every resolution of a field multiplies the scores of its locators by
+ * locator.stats.decay and adds one to the winner, so a score is high for a
+ * locator that won recently and often and fades for one that has not won in
+ * a while. LocatorChain tries the locators it may reorder by descending
+ * score (ties keep declared order): after a redesign the new winner moves
+ * ahead within a few resolutions, and a locator that keeps losing falls
+ * behind it and is skipped for as long as the winner matches. Catch-all
+ * locators are never reordered. Scores are kept in a small properties file
+ * written on exit.
+ */
+class LocatorStats {
+
+    private static final Logger logger = LogManager.getLogger(LocatorStats.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    // Scores that decayed below this are dropped, the locator has not won in dozens of resolutions
+    private static final double MIN_SCORE = 0.001;
+    private static volatile LocatorStats instance;
+
+    // page|field|browser -> locator -> decayed win score
+    private final Map<String, Map<String, Double>> scores = new ConcurrentHashMap<>();
+    private final File statsFile;
+    private final double decay;
+    private volatile boolean dirty;
+
+    private LocatorStats() {
+        this.statsFile = new File(configReader.getLocatorStatsFile());
+        this.decay = configReader.getLocatorStatsDecay();
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::save, "locator-stats-save"));
+    }
+
+    /**
+     * Get the statistics of this JVM, loading them from disk on first use
+     * @return LocatorStats instance
+     */
+    static LocatorStats getInstance() {
+        if (instance == null) {
+            synchronized (LocatorStats.class) {
+                if (instance == null) {
+                    instance = new LocatorStats();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Order locators by how recently and how often they won
+     * @param key page|field|browser
+     * @param candidates Locators that may be reordered, in declared order
+     * @return Candidates by descending score, ties in declared order
+     */
+    List<By> order(String key, List<By> candidates) {
+        Map<String, Double> fieldScores = scores.get(key);
+        if (fieldScores == null || fieldScores.isEmpty() || candidates.size() < 2) {
+            return candidates;
+        }
+        List<By> ordered = new ArrayList<>(candidates);
+        // List.sort is stable
+        ordered.sort(Comparator.comparingDouble((By candidate) -> fieldScores.getOrDefault(candidate.toString(), 0.0))
+                .reversed());
+        if (!ordered.equals(candidates)) {
+            logger.debug("{} tries {} first", key, ordered.get(0));
+        }
+        return ordered;
+    }
+
+    /**
+     * Record a resolution of a field
+     * @param key page|field|browser
+     * @param winner Winning locator
+     */
+    void recordResolution(String key, By winner) {
+        Map<String, Double> fieldScores = scores.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        synchronized (fieldScores) {
+            fieldScores.replaceAll((locator, score) -> score * decay);
+            fieldScores.values().removeIf(score -> score < MIN_SCORE);
+            fieldScores.merge(winner.toString(), 1.0, Double::sum);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Write the scores to disk if they changed
+     */
+    synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (Map.Entry<String, Map<String, Double>> field : scores.entrySet()) {
+            synchronized (field.getValue()) {
+                for (Map.Entry<String, Double> locator : field.getValue().entrySet()) {
+                    properties.setProperty(field.getKey() + "|" + locator.getKey(), String.valueOf(locator.getValue()));
+                }
+            }
+        }
+        File parentDir = statsFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        try (OutputStream outputStream = new FileOutputStream(statsFile)) {
+            properties.store(outputStream, "Decayed win scores per page|field|browser|locator");
+            dirty = false;
+            logger.debug("Saved locator statistics of {} fields to {}", scores.size(), statsFile);
+        } catch (IOException e) {
+            logger.warn("Could not write locator statistics {}: {}", statsFile, e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!statsFile.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(statsFile)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            logger.warn("Could not read locator statistics {}: {}", statsFile, e.getMessage());
+            return;
+        }
+        for (String name : properties.stringPropertyNames()) {
+            // page|field|browser|locator; the locator itself may contain '|'
+            String[] parts = name.split("\\|", 4);
+            if (parts.length < 4) {
+                continue;
+            }
+            try {
+                double score = Double.parseDouble(properties.getProperty(name));
+                if (score >= MIN_SCORE) {
+                    scores.computeIfAbsent(parts[0] + "|" + parts[1] + "|" + parts[2], k -> new ConcurrentHashMap<>())
+                            .put(parts[3], score);
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring corrupt locator statistics entry {}", name);
+            }
+        }
+        logger.info("Loaded locator statistics of {} fields from {}", scores.size(), statsFile);
+    }
+}
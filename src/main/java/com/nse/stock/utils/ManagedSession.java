@@ -0,0 +1,184 @@
+package com.nse.stock.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Browser session created and owned by DriverManager
+ * Wraps the raw WebDriver so navigations can be counted for pool recycling
+ * and timed for the launch profile comparison
+ */
+public class ManagedSession {
+
+    private final String browser;
+    private final WebDriver rawDriver;
+    private final EventFiringWebDriver driver;
+    private final long createdAt;
+    private final AtomicInteger navigationCount = new AtomicInteger();
+    private volatile int useCount;
+    private volatile boolean pooled;
+    private volatile boolean released;
+    private volatile Thread ownerThread;
+    private volatile BrowserProcessTree processTree;
+    private volatile File profileDirectory;
+    private volatile String cpuSet;
+
+    ManagedSession(String browser, WebDriver rawDriver) {
+        this.browser = browser;
+        this.rawDriver = rawDriver;
+        this.createdAt = System.currentTimeMillis();
+        this.driver = new EventFiringWebDriver(rawDriver);
+        this.driver.register(new AbstractWebDriverEventListener() {
+            private long navigationStartedAt;
+
+            @Override
+            public void beforeNavigateTo(String url, WebDriver webDriver) {
+                navigationCount.incrementAndGet();
+                navigationStartedAt = System.currentTimeMillis();
+            }
+
+            @Override
+            public void afterNavigateTo(String url, WebDriver webDriver) {
+                PageLoadTimings.record(browser, System.currentTimeMillis() - navigationStartedAt);
+                if (ConfigReader.getInstance().isOverlayAutoDismissEnabled() && OverlayDismisser.isSweepable(url)) {
+                    // The observer left by the sweep dies with the previous document
+                    OverlayDismisser.dismiss(webDriver);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get browser name this session was created for
+     * @return Browser name
+     */
+    public String getBrowser() {
+        return browser;
+    }
+
+    /**
+     * Get the driver handed out to tests
+     * @return Navigation-counting WebDriver
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Get the underlying browser-specific driver
+     * @return Raw WebDriver instance
+     */
+    public WebDriver getRawDriver() {
+        return rawDriver;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getNavigationCount() {
+        return navigationCount.get();
+    }
+
+    public int getUseCount() {
+        return useCount;
+    }
+
+    void markUsed() {
+        useCount++;
+        released = false;
+        ownerThread = Thread.currentThread();
+    }
+
+    /**
+     * Get the test thread currently using this session
+     * @return Owner thread, or null while the session is idle
+     */
+    Thread getOwnerThread() {
+        return ownerThread;
+    }
+
+    /**
+     * Check whether the last test using this session has finished with it
+     * @return true if the session is idle and kept for reuse
+     */
+    boolean isReleased() {
+        return released;
+    }
+
+    void setReleased(boolean released) {
+        this.released = released;
+        if (released) {
+            ownerThread = null;
+        }
+    }
+
+    /**
+     * Check whether this session belongs to a DriverPool
+     * @return true if the session is returned to a pool instead of being quit
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Get the operating system processes behind this session
+     * @return Process tree or null if not tracked on this platform
+     */
+    BrowserProcessTree getProcessTree() {
+        return processTree;
+    }
+
+    void setProcessTree(BrowserProcessTree processTree) {
+        this.processTree = processTree;
+    }
+
+    /**
+     * Get the profile directory cloned for this session
+     * @return Profile directory or null if the browser uses a throwaway profile
+     */
+    File getProfileDirectory() {
+        return profileDirectory;
+    }
+
+    void setProfileDirectory(File profileDirectory) {
+        this.profileDirectory = profileDirectory;
+    }
+
+    /**
+     * Get the CPUs this session's browser processes are pinned to
+     * @return CPU list such as "4,5", or null if the session is not pinned
+     */
+    public String getCpuSet() {
+        return cpuSet;
+    }
+
+    void setCpuSet(String cpuSet) {
+        this.cpuSet = cpuSet;
+    }
+
+    /**
+     * Cheap liveness probe: a single wire call that fails if the browser is gone
+     * @return true if the session still answers commands
+     */
+    boolean isHealthy() {
+        try {
+            return !rawDriver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s session (uses: %d, navigations: %d)", browser, useCount, getNavigationCount());
+    }
+}
@@ -0,0 +1,164 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Finds and dismisses cookie banners, notification prompts, modal dialogs
+ * and ad interstitials in one script round trip
+ * Only known consent banners and modals that cover the viewport or sit on a
+ * backdrop are touched; dropdowns, suggestion lists and other page UI that
+ * merely look like popups are left alone. The script also leaves a MutationObserver in the page that repeats the
+ * sweep when popups appear later. The observer lives as long as the
+ * document, so sessions reinstall it after every navigation.
+ */
+public class OverlayDismisser {
+
+    private static final Logger logger = LogManager.getLogger(OverlayDismisser.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+
+    // Installs the sweep and observer once per document, runs one sweep and returns what it handled
+    private static final String SWEEP_SCRIPT =
+            "var w = window;" +
+            "if (!w.__nseOverlays) {" +
+            "  var state = w.__nseOverlays = {};" +
+            "  var names = function(e) {" +
+            "    return ((e.id || '') + ' ' + (typeof e.className === 'string' ? e.className : '')).toLowerCase();" +
+            "  };" +
+            "  var inside = function(e, pattern) {" +
+            "    for (var n = e, depth = 0; n && n.nodeType === 1 && depth < 12; n = n.parentNode, depth++) {" +
+            "      if (pattern.test(names(n))) { return true; }" +
+            "    }" +
+            "    return false;" +
+            "  };" +
+            "  var visible = function(e) {" +
+            "    var rect = e.getBoundingClientRect(), style = w.getComputedStyle(e);" +
+            "    return rect.width > 0 && rect.height > 0 && style.display !== 'none' && style.visibility !== 'hidden';" +
+            "  };" +
+            "  var label = function(e) {" +
+            "    return String(e.innerText || e.value || e.getAttribute('aria-label') || '').trim().substring(0, 40);" +
+            "  };" +
+            "  state.sweep = function() {" +
+            "    var handled = [];" +
+            "    var act = function(kind, e, remove) {" +
+            "      e.__nseHandled = true;" +
+            "      try {" +
+            "        if (remove) {" +
+            "          handled.push(kind + ': removed ' + e.tagName.toLowerCase() + (e.id ? '#' + e.id : ''));" +
+            "          e.parentNode.removeChild(e);" +
+            "        } else {" +
+            "          handled.push(kind + ': clicked \\'' + label(e) + '\\'');" +
+            "          e.click();" +
+            "        }" +
+            "      } catch (x) { }" +
+            "    };" +
+            "    var buttons = document.querySelectorAll('button, a, [role=button], input[type=button], input[type=submit]');" +
+            "    for (var i = 0; i < buttons.length; i++) {" +
+            "      var b = buttons[i];" +
+            "      if (b.__nseHandled || !visible(b)) { continue; }" +
+            "      var text = label(b).toLowerCase(), aria = String(b.getAttribute('aria-label') || '').toLowerCase();" +
+            "      if (inside(b, /cookie|consent|gdpr|onetrust/)" +
+            "          && /^(accept|accept all|accept cookies|allow all|i agree|agree|ok|okay|got it)$/.test(text)) {" +
+            "        act('cookie consent', b, false);" +
+            "      } else if (/^(no thanks|not now|maybe later|later|block)$/.test(text) && inside(b, /notif|push|subscribe/)" +
+            "          || /notification/.test(aria) && /close|dismiss/.test(aria)) {" +
+            "        act('notification prompt', b, false);" +
+            "      } else if (/ad-close|adclose|close-ad/.test(names(b)) || /^skip ad/.test(text)) {" +
+            "        act('advertisement', b, false);" +
+            "      }" +
+            "    }" +
+            "    var known = document.querySelectorAll('#onetrust-consent-sdk, #onetrust-banner-sdk, #CybotCookiebotDialog,'" +
+            "        + ' .cc-window, .qc-cmp2-container, .fc-consent-root, #truste-consent-track');" +
+            "    for (var q = 0; q < known.length; q++) {" +
+            "      if (!known[q].__nseHandled && known[q].parentNode && visible(known[q])) { act('consent banner', known[q], true); }" +
+            "    }" +
+            "    var backdrop = false, backdrops = document.querySelectorAll('.modal-backdrop');" +
+            "    for (var m = 0; m < backdrops.length; m++) { backdrop = backdrop || visible(backdrops[m]); }" +
+            "    var dialogs = document.querySelectorAll('[role=dialog], [role=alertdialog], [aria-modal=true], .modal');" +
+            "    for (var j = 0; j < dialogs.length; j++) {" +
+            "      var d = dialogs[j];" +
+            "      if (d.__nseHandled || !d.parentNode || !visible(d) || w.getComputedStyle(d).position !== 'fixed') { continue; }" +
+            "      var rect = d.getBoundingClientRect();" +
+            "      var covering = rect.width >= w.innerWidth * 0.9 && rect.height >= w.innerHeight * 0.9;" +
+            "      if (!covering && !backdrop) { continue; }" +
+            "      var close = d.querySelector('[data-dismiss=modal], [data-bs-dismiss=modal], [aria-label=Close],'" +
+            "          + ' [aria-label=close], button.close, .btn-close');" +
+            "      if (close && visible(close)) { act('modal', close, false); d.__nseHandled = true; }" +
+            "      else { act('modal', d, true); }" +
+            "    }" +
+            "    if (handled.length) {" +
+            "      for (var k = 0; k < backdrops.length; k++) { if (backdrops[k].parentNode) { backdrops[k].parentNode.removeChild(backdrops[k]); } }" +
+            "      if (document.body) {" +
+            "        document.body.className = document.body.className.replace(/\\bmodal-open\\b/, '');" +
+            "        document.body.style.overflow = '';" +
+            "      }" +
+            "    }" +
+            "    return handled;" +
+            "  };" +
+            "  if (w.MutationObserver) {" +
+            "    var scheduled = false;" +
+            "    new MutationObserver(function() {" +
+            "      if (scheduled) { return; }" +
+            "      scheduled = true;" +
+            "      setTimeout(function() { scheduled = false; try { state.sweep(); } catch (e) { } }, 100);" +
+            "    }).observe(document.documentElement || document, {childList: true, subtree: true});" +
+            "  }" +
+            "}" +
+            "return w.__nseOverlays.sweep();";
+
+    private static final Pattern NON_HTML_PATH = Pattern.compile(
+            "\\.(txt|json|xml|csv|pdf|js|css|png|jpe?g|gif|svg|ico)$", Pattern.CASE_INSENSITIVE);
+
+    private OverlayDismisser() {
+    }
+
+    /**
+     * Check if a navigation target can show overlays worth a sweep
+     * @param url URL just navigated to
+     * @return false for blank pages, the cookie warm-up landing URL and non-HTML resources
+     */
+    static boolean isSweepable(String url) {
+        if (url == null || url.startsWith("about:") || url.startsWith("data:")
+                || url.equals(configReader.getCookieWarmupLandingUrl())) {
+            return false;
+        }
+        String path = url.replaceFirst("[?#].*$", "");
+        return !NON_HTML_PATH.matcher(path).find();
+    }
+
+    /**
+     * Dismiss every known overlay on the current page and keep dismissing late ones
+     * @param driver WebDriver instance
+     * @return Descriptions of what was clicked or removed
+     */
+    public static List<String> dismiss(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return Collections.emptyList();
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            Object result = ((JavascriptExecutor) driver).executeScript(SWEEP_SCRIPT);
+            List<String> handled = new ArrayList<>();
+            if (result instanceof List) {
+                for (Object entry : (List<?>) result) {
+                    handled.add(String.valueOf(entry));
+                }
+            }
+            for (String entry : handled) {
+                logger.info("Overlay dismissed ({})", entry);
+            }
+            logger.debug("Overlay sweep took {} ms", System.currentTimeMillis() - startTime);
+            return handled;
+        } catch (Exception e) {
+            logger.debug("Overlay sweep failed: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects page load times per browser for the active launch profile
+ * Results are persisted per profile so a run with one profile can be
+ * compared with the last run of the other in the report.
+ */
+public class PageLoadTimings {
+
+    private static final Logger logger = LogManager.getLogger(PageLoadTimings.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    // browser -> {navigation count, total millis}
+    private static final Map<String, AtomicLong[]> timings = new ConcurrentHashMap<>();
+
+    private PageLoadTimings() {
+    }
+
+    /**
+     * Record how long one navigation blocked the test
+     * @param browser Browser name
+     * @param millis Navigation time in milliseconds
+     */
+    static void record(String browser, long millis) {
+        AtomicLong[] counters = timings.computeIfAbsent(browser,
+                key -> new AtomicLong[]{new AtomicLong(), new AtomicLong()});
+        counters[0].incrementAndGet();
+        counters[1].addAndGet(millis);
+    }
+
+    /**
+     * Persist this run's timings and compare them with the last run of every profile
+     * @return Report entries keyed "Page Load [profile/browser]"
+     */
+    public static Map<String, String> compareProfiles() {
+        String profile = BrowserLaunchProfile.getActiveProfile();
+        Properties properties = load();
+        String now = new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date());
+
+        for (Map.Entry<String, AtomicLong[]> entry : timings.entrySet()) {
+            long count = entry.getValue()[0].get();
+            if (count > 0) {
+                String prefix = profile + "." + entry.getKey();
+                properties.setProperty(prefix + ".count", String.valueOf(count));
+                properties.setProperty(prefix + ".averageMs", String.valueOf(entry.getValue()[1].get() / count));
+                properties.setProperty(prefix + ".recordedAt", now);
+            }
+        }
+        if (!timings.isEmpty()) {
+            save(properties);
+        }
+
+        Map<String, String> comparison = new LinkedHashMap<>();
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            if (key.endsWith(".averageMs")) {
+                String prefix = key.substring(0, key.length() - ".averageMs".length());
+                boolean thisRun = prefix.startsWith(profile + ".") && timings.containsKey(prefix.substring(profile.length() + 1));
+                comparison.put("Page Load [" + prefix.replace('.', '/') + "]",
+                        String.format("avg %s ms over %s loads (%s)", properties.getProperty(key),
+                                properties.getProperty(prefix + ".count"),
+                                thisRun ? "this run" : "run of " + properties.getProperty(prefix + ".recordedAt")));
+            }
+        }
+        return comparison;
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        File file = new File(configReader.getPageLoadTimingsFile());
+        if (file.isFile()) {
+            try (InputStream inputStream = new FileInputStream(file)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                logger.warn("Could not read page load timings {}: {}", file, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static void save(Properties properties) {
+        File file = new File(configReader.getPageLoadTimingsFile());
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            properties.store(outputStream, "Average page load time per launch profile and browser");
+        } catch (IOException e) {
+            logger.warn("Could not write page load timings {}: {}", file, e.getMessage());
+        }
+    }
+}
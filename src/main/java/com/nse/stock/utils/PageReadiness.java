@@ -0,0 +1,146 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.List;
+
+/**
+ * Decides when a page has settled instead of sleeping for a fixed time
+ * A page is settled once document.readyState is past "loading", no XHR or
+ * fetch request started by the page is pending, and the DOM has not changed
+ * for a short quiet window. A cap bounds the wait on pages that never go
+ * quiet (tickers, long polling). The request counter and mutation observer
+ * are installed by instrument(), or by the first check if the page was not
+ * instrumented; requests that finished before that still count as activity
+ * through the page's resource timing entries.
+ */
+public class PageReadiness {
+
+    private static final Logger logger = LogManager.getLogger(PageReadiness.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+
+    // Installs the request counter and mutation observer once per document
+    private static final String INSTRUMENT_SCRIPT =
+            "var w = window;" +
+            "if (!w.__nseReadiness) {" +
+            "  var r = w.__nseReadiness = {pending: 0, lastMutation: performance.now()};" +
+            "  var send = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function() {" +
+            "    var done = false;" +
+            "    r.pending++;" +
+            "    this.addEventListener('loadend', function() { if (!done) { done = true; r.pending--; } });" +
+            "    try { return send.apply(this, arguments); } catch (e) { if (!done) { done = true; r.pending--; } throw e; }" +
+            "  };" +
+            "  if (w.fetch) {" +
+            "    var fetch = w.fetch;" +
+            "    w.fetch = function() {" +
+            "      r.pending++;" +
+            "      return fetch.apply(w, arguments).then(" +
+            "        function(response) { r.pending--; return response; }," +
+            "        function(error) { r.pending--; throw error; });" +
+            "    };" +
+            "  }" +
+            "  if (w.MutationObserver) {" +
+            "    new MutationObserver(function() { r.lastMutation = performance.now(); }).observe(" +
+            "      document.documentElement || document," +
+            "      {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  }" +
+            "}";
+
+    // Returns [readyState, pending requests, ms since the last mutation or finished resource request].
+    // Resource timing covers requests the counter missed because they started before it was installed
+    private static final String PROBE_SCRIPT = INSTRUMENT_SCRIPT +
+            "var state = w.__nseReadiness;" +
+            "var lastActivity = state.lastMutation;" +
+            "if (performance.getEntriesByType) {" +
+            "  var entries = performance.getEntriesByType('resource');" +
+            "  for (var i = 0; i < entries.length; i++) {" +
+            "    lastActivity = Math.max(lastActivity, entries[i].responseEnd || 0);" +
+            "  }" +
+            "}" +
+            "return [document.readyState, Math.max(0, state.pending), Math.round(performance.now() - lastActivity)];";
+
+    private PageReadiness() {
+    }
+
+    /**
+     * Start counting the current document's XHR and fetch requests
+     * Call before the action that triggers the requests to wait for (typing into
+     * a search box, right after a navigation returns), so waitForSettled sees them
+     * @param driver WebDriver instance
+     */
+    public static void instrument(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(INSTRUMENT_SCRIPT);
+        } catch (WebDriverException e) {
+            logger.debug("Could not instrument page for readiness checks: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wait until the current page has settled, up to the configured cap
+     * @param driver WebDriver instance
+     * @return true if the page settled, false if the cap was reached
+     */
+    public static boolean waitForSettled(WebDriver driver) {
+        return waitForSettled(driver, configReader.getReadinessMaxWaitMs());
+    }
+
+    /**
+     * Wait until the current page has settled
+     * @param driver WebDriver instance
+     * @param maxWaitMillis Cap on the wait in milliseconds, cut to the remaining test time budget
+     * @return true if the page settled, false if the cap was reached
+     */
+    public static boolean waitForSettled(WebDriver driver, long maxWaitMillis) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return true;
+        }
+        maxWaitMillis = TestTimeBudget.clampMillis("page readiness", maxWaitMillis);
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        long quietWindowMillis = configReader.getReadinessQuietWindowMs();
+        long pollMillis = configReader.getReadinessPollIntervalMs();
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + maxWaitMillis;
+        String lastState = "not checked";
+
+        while (true) {
+            try {
+                List<?> state = (List<?>) executor.executeScript(PROBE_SCRIPT);
+                String readyState = String.valueOf(state.get(0));
+                long pending = ((Number) state.get(1)).longValue();
+                long quietMillis = ((Number) state.get(2)).longValue();
+                if (!"loading".equals(readyState) && pending == 0 && quietMillis >= quietWindowMillis) {
+                    logger.debug("Page settled in {} ms", System.currentTimeMillis() - startTime);
+                    TestTimeBudget.record("page readiness", startTime);
+                    return true;
+                }
+                lastState = String.format("readyState: %s, pending requests: %d, quiet for: %d ms",
+                        readyState, pending, quietMillis);
+            } catch (WebDriverException | ClassCastException | IndexOutOfBoundsException e) {
+                // The document was replaced mid-check, try again on the new one
+                lastState = "probe failed: " + e.getMessage().split("\\R", 2)[0];
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                logger.debug("Page not settled after {} ms ({})", maxWaitMillis, lastState);
+                TestTimeBudget.record("page readiness", startTime);
+                return false;
+            }
+            try {
+                Thread.sleep(Math.min(pollMillis, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
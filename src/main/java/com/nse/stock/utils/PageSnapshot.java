@@ -0,0 +1,208 @@
+package com.nse.stock.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Copy of a page's HTML taken in one round trip and queried in the JVM
+ * Locators are evaluated with jsoup against the copy, so parsing can run on a
+ * worker thread while the browser moves on. A snapshot can be saved and
+ * loaded again to re-run an extraction offline without reloading the page.
+ * jsoup does not render, so only elements hidden by their own (or an
+ * ancestor's) hidden attribute or inline display:none are skipped.
+ */
+public class PageSnapshot {
+
+    private static final Logger logger = LogManager.getLogger(PageSnapshot.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
+    private static final String URL_MARKER = "<!-- snapshot-url: ";
+    private static final Pattern HIDDEN_STYLE = Pattern.compile("display\\s*:\\s*none");
+    private static final int MAX_MATCHES = 50;
+
+    // Returns [URL, serialized DOM] so a snapshot costs one round trip
+    private static final String CAPTURE_SCRIPT =
+            "return [location.href, '<!DOCTYPE html>' + document.documentElement.outerHTML];";
+
+    private static final AtomicInteger parserThreads = new AtomicInteger();
+    private static final ExecutorService parser = Executors.newFixedThreadPool(
+            Math.max(1, configReader.getSnapshotParserThreads()), runnable -> {
+                Thread thread = new Thread(runnable, "page-snapshot-parser-" + parserThreads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final String name;
+    private final String url;
+    private final String source;
+    private Document document;
+    // W3C DOM copy of document, built once for all XPath evaluations
+    private W3CDom w3cDom;
+    private org.w3c.dom.Node w3cContext;
+    private File file;
+
+    private PageSnapshot(String name, String url, String source) {
+        this.name = name;
+        this.url = url;
+        this.source = source;
+    }
+
+    /**
+     * Take a snapshot of the current page
+     * @param driver WebDriver instance
+     * @param name Name used when the snapshot is saved
+     * @return PageSnapshot
+     */
+    public static PageSnapshot capture(WebDriver driver, String name) {
+        long startTime = System.currentTimeMillis();
+        PageSnapshot snapshot;
+        if (driver instanceof JavascriptExecutor) {
+            List<?> page = (List<?>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+            snapshot = new PageSnapshot(name, String.valueOf(page.get(0)), String.valueOf(page.get(1)));
+        } else {
+            snapshot = new PageSnapshot(name, driver.getCurrentUrl(), driver.getPageSource());
+        }
+        logger.debug("Captured snapshot '{}' ({} chars) in {} ms", name, snapshot.source.length(),
+                System.currentTimeMillis() - startTime);
+        return snapshot;
+    }
+
+    /**
+     * Load a saved snapshot
+     * @param file Snapshot file written by save()
+     * @return PageSnapshot
+     */
+    public static PageSnapshot load(File file) {
+        try {
+            String content = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+            String url = "";
+            if (content.startsWith(URL_MARKER)) {
+                int end = content.indexOf(" -->");
+                url = content.substring(URL_MARKER.length(), end);
+                content = content.substring(content.indexOf('\n', end) + 1);
+            }
+            String name = file.getName().replaceFirst("\\.html$", "");
+            PageSnapshot snapshot = new PageSnapshot(name, url, content);
+            snapshot.file = file;
+            return snapshot;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load page snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Save the snapshot to the configured directory, unless it is already on disk
+     * @return Saved file, or null if it could not be written
+     */
+    public synchronized File save() {
+        if (file != null) {
+            return file;
+        }
+        File directory = new File(configReader.getSnapshotDirectory());
+        String fileName = String.format("%s_%s.html", name.replaceAll("[^A-Za-z0-9._-]", "_"),
+                LocalDateTime.now().format(formatter));
+        File target = new File(directory, fileName);
+        try {
+            FileUtils.writeStringToFile(target, URL_MARKER + url + " -->\n" + source, StandardCharsets.UTF_8);
+            logger.info("Page snapshot saved: {}", target.getPath());
+            file = target;
+            return target;
+        } catch (IOException e) {
+            logger.error("Failed to save page snapshot {}: {}", target.getPath(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Run work against this snapshot on the parser thread pool
+     * @param work Work to run, usually an extraction
+     * @return Future of the work's result
+     */
+    public <T> Future<T> submit(Function<PageSnapshot, T> work) {
+        return parser.submit(() -> work.apply(this));
+    }
+
+    /**
+     * Collect the text of every visible element each locator matches
+     * @param fieldXpaths Field name -> XPaths in order of preference
+     * @return Field name -> non-empty texts, XPath by XPath in order
+     */
+    public synchronized Map<String, List<String>> selectTexts(Map<String, String[]> fieldXpaths) {
+        long startTime = System.currentTimeMillis();
+        if (document == null) {
+            document = Jsoup.parse(source, url);
+            // Element.selectXpath would convert the whole document again on every call
+            w3cDom = new W3CDom().namespaceAware(false);
+            w3cContext = w3cDom.contextNode(w3cDom.fromJsoup(document));
+        }
+        Map<String, List<String>> fieldTexts = new LinkedHashMap<>();
+        for (Map.Entry<String, String[]> field : fieldXpaths.entrySet()) {
+            List<String> texts = new ArrayList<>();
+            for (String xpath : field.getValue()) {
+                try {
+                    int matches = 0;
+                    for (Element element : w3cDom.sourceNodes(w3cDom.selectXpath(xpath, w3cContext), Element.class)) {
+                        if (matches++ >= MAX_MATCHES) {
+                            break;
+                        }
+                        String text = element.text().trim();
+                        if (!text.isEmpty() && !isHidden(element)) {
+                            texts.add(text);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    logger.debug("Snapshot '{}' could not evaluate {}: {}", name, xpath, e.getMessage());
+                }
+            }
+            fieldTexts.put(field.getKey(), texts);
+        }
+        logger.debug("Evaluated {} fields on snapshot '{}' in {} ms", fieldTexts.size(), name,
+                System.currentTimeMillis() - startTime);
+        return fieldTexts;
+    }
+
+    private static boolean isHidden(Element element) {
+        for (Element current = element; current != null; current = current.parent()) {
+            if (current.hasAttr("hidden") || HIDDEN_STYLE.matcher(current.attr("style")).find()
+                    || "head".equals(current.normalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
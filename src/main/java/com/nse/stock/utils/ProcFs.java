@@ -0,0 +1,226 @@
+package com.nse.stock.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal reader for the Linux /proc filesystem
+ * Used to find, measure and kill the processes behind browser sessions
+ */
+final class ProcFs {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcFs() {
+    }
+
+    /**
+     * Snapshot of the /proc/[pid]/stat fields this framework uses
+     */
+    static class ProcessStat {
+        final int pid;
+        final char state;
+        final int ppid;
+        final long utimeTicks;
+        final long stimeTicks;
+        final long startTimeTicks;
+
+        ProcessStat(int pid, char state, int ppid, long utimeTicks, long stimeTicks, long startTimeTicks) {
+            this.pid = pid;
+            this.state = state;
+            this.ppid = ppid;
+            this.utimeTicks = utimeTicks;
+            this.stimeTicks = stimeTicks;
+            this.startTimeTicks = startTimeTicks;
+        }
+
+        /**
+         * Check whether the process has exited and only awaits its parent
+         * @return true for zombie or dead processes
+         */
+        boolean isExited() {
+            return state == 'Z' || state == 'X';
+        }
+    }
+
+    /**
+     * Check whether /proc is available (Linux)
+     * @return true on Linux
+     */
+    static boolean isAvailable() {
+        return Files.isDirectory(PROC.resolve("self"));
+    }
+
+    /**
+     * List all process IDs currently visible in /proc
+     * @return Process IDs
+     */
+    static List<Integer> listPids() {
+        List<Integer> pids = new ArrayList<>();
+        String[] names = PROC.toFile().list();
+        if (names != null) {
+            for (String name : names) {
+                if (!name.isEmpty() && Character.isDigit(name.charAt(0))) {
+                    try {
+                        pids.add(Integer.parseInt(name));
+                    } catch (NumberFormatException e) {
+                        // not a process directory
+                    }
+                }
+            }
+        }
+        return pids;
+    }
+
+    /**
+     * Read /proc/[pid]/stat
+     * @param pid Process ID
+     * @return Parsed stat or null if the process is gone
+     */
+    static ProcessStat readStat(int pid) {
+        String stat = readFile(PROC.resolve(pid + "/stat"));
+        if (stat == null) {
+            return null;
+        }
+        // The command name may contain spaces and parentheses; fields follow the last ')'
+        int end = stat.lastIndexOf(')');
+        if (end < 0) {
+            return null;
+        }
+        String[] fields = stat.substring(end + 2).trim().split("\\s+");
+        try {
+            // fields[0] is field 3 (state) in proc(5)
+            return new ProcessStat(pid,
+                    fields[0].charAt(0),
+                    Integer.parseInt(fields[1]),
+                    Long.parseLong(fields[11]),
+                    Long.parseLong(fields[12]),
+                    Long.parseLong(fields[19]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read the command name of a process
+     * @param pid Process ID
+     * @return Command name or null if the process is gone
+     */
+    static String readCommand(int pid) {
+        String comm = readFile(PROC.resolve(pid + "/comm"));
+        return comm != null ? comm.trim() : null;
+    }
+
+    /**
+     * Read the resident set size of a process
+     * @param pid Process ID
+     * @return RSS in bytes, or 0 if the process is gone
+     */
+    static long readRssBytes(int pid) {
+        String status = readFile(PROC.resolve(pid + "/status"));
+        if (status != null) {
+            for (String line : status.split("\n")) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Find a process and all of its descendants
+     * @param rootPid Root process ID
+     * @return Root followed by descendants, or empty if the root is gone
+     */
+    static Set<Integer> processTree(int rootPid) {
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        for (int pid : listPids()) {
+            ProcessStat stat = readStat(pid);
+            if (stat != null) {
+                children.computeIfAbsent(stat.ppid, key -> new ArrayList<>()).add(pid);
+            }
+        }
+
+        Set<Integer> tree = new LinkedHashSet<>();
+        if (!Files.isDirectory(PROC.resolve(String.valueOf(rootPid)))) {
+            return tree;
+        }
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(rootPid);
+        while (!queue.isEmpty()) {
+            int pid = queue.poll();
+            if (tree.add(pid)) {
+                queue.addAll(children.getOrDefault(pid, new ArrayList<>()));
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Find the process listening on a local TCP port
+     * @param port TCP port
+     * @return Process ID or -1 if not found
+     */
+    static int findPidListeningOn(int port) {
+        Set<String> inodes = new LinkedHashSet<>();
+        for (String table : new String[]{"net/tcp", "net/tcp6"}) {
+            String content = readFile(PROC.resolve(table));
+            if (content == null) {
+                continue;
+            }
+            for (String line : content.split("\n")) {
+                String[] fields = line.trim().split("\\s+");
+                // local_address is "HEXIP:HEXPORT", state 0A is LISTEN, inode is field 10
+                if (fields.length > 9 && fields[1].contains(":") && "0A".equals(fields[3])) {
+                    String hexPort = fields[1].substring(fields[1].indexOf(':') + 1);
+                    if (Integer.parseInt(hexPort, 16) == port) {
+                        inodes.add(fields[9]);
+                    }
+                }
+            }
+        }
+        if (inodes.isEmpty()) {
+            return -1;
+        }
+
+        for (int pid : listPids()) {
+            File[] fds = PROC.resolve(pid + "/fd").toFile().listFiles();
+            if (fds == null) {
+                continue;
+            }
+            for (File fd : fds) {
+                try {
+                    String target = Files.readSymbolicLink(fd.toPath()).toString();
+                    if (target.startsWith("socket:[")
+                            && inodes.contains(target.substring(8, target.length() - 1))) {
+                        return pid;
+                    }
+                } catch (IOException | UnsupportedOperationException e) {
+                    // fd closed or not ours to read
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String readFile(Path path) {
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
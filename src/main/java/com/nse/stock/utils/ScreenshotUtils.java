@@ -6,6 +6,7 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 
 import java.io.File;
 import java.io.IOException;
@@ -33,6 +34,10 @@ public class ScreenshotUtils {
             logger.warn("WebDriver is null, cannot take screenshot");
             return null;
         }
+        if (!supportsScreenshots(driver)) {
+            logger.debug("Driver does not render pages, skipping screenshot '{}'", screenshotName);
+            return null;
+        }
         
         try {
             // Create screenshots directory if it doesn't exist
@@ -110,6 +115,9 @@ public class ScreenshotUtils {
             logger.warn("WebDriver is null, cannot capture screenshot as base64");
             return null;
         }
+        if (!supportsScreenshots(driver)) {
+            return null;
+        }
         
         try {
             TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
@@ -119,4 +127,16 @@ public class ScreenshotUtils {
             return null;
         }
     }
+    
+    /**
+     * Check if a driver can take screenshots
+     * Drivers wrapped for event listening always implement TakesScreenshot,
+     * so the wrapped driver is checked (HtmlUnit renders nothing)
+     * @param driver WebDriver instance
+     * @return true if screenshots are supported
+     */
+    private static boolean supportsScreenshots(WebDriver driver) {
+        WebDriver target = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        return target instanceof TakesScreenshot;
+    }
 }
@@ -0,0 +1,168 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the session cookies nseindia.com hands out on its home page
+ * The cookie jar is captured once per browser type after a home page visit
+ * and injected into other sessions of that browser, so they can open quote
+ * pages directly. A jar is dropped when its TTL passes, when one of its
+ * cookies expires, or when a page using it turns out to be an access-denied
+ * block page.
+ */
+public class SessionCookieCache {
+
+    private static final Logger logger = LogManager.getLogger(SessionCookieCache.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final String[] BLOCK_PAGE_MARKERS = {
+            "access denied", "403 forbidden", "401 unauthorized", "you don't have permission to access",
+            "request unsuccessful", "reference #"
+    };
+    private static final Map<String, CookieJar> jars = new ConcurrentHashMap<>();
+
+    private SessionCookieCache() {
+    }
+
+    /**
+     * Cookies captured from one home page visit
+     */
+    private static class CookieJar {
+        private final List<Cookie> cookies;
+        private final long capturedAt;
+
+        CookieJar(List<Cookie> cookies) {
+            this.cookies = cookies;
+            this.capturedAt = System.currentTimeMillis();
+        }
+
+        boolean isFresh() {
+            long now = System.currentTimeMillis();
+            if (now - capturedAt > TimeUnit.MINUTES.toMillis(configReader.getCookieWarmupTtlMinutes())) {
+                return false;
+            }
+            for (Cookie cookie : cookies) {
+                Date expiry = cookie.getExpiry();
+                if (expiry != null && expiry.getTime() <= now) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Capture the cookie jar of a session that has just loaded the home page
+     * Does nothing while a fresh jar exists for the browser
+     * @param driver Driver on an nseindia.com page
+     * @param browser Browser name
+     */
+    public static void capture(WebDriver driver, String browser) {
+        if (!configReader.isCookieWarmupEnabled() || hasFreshCookies(browser) || isBlockPage(driver)) {
+            return;
+        }
+        try {
+            Set<Cookie> cookies = driver.manage().getCookies();
+            if (!cookies.isEmpty()) {
+                jars.put(browser, new CookieJar(new ArrayList<>(cookies)));
+                logger.info("Captured {} NSE session cookies for {}", cookies.size(), browser);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not capture NSE session cookies: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inject the browser's captured cookies into a session
+     * Cookies can only be set for the current domain, so a lightweight page
+     * on nseindia.com is opened first
+     * @param driver Driver to inject into
+     * @param browser Browser name
+     * @return true if cookies were injected, false if the home page must be visited
+     */
+    public static boolean inject(WebDriver driver, String browser) {
+        if (!configReader.isCookieWarmupEnabled() || !hasFreshCookies(browser)) {
+            return false;
+        }
+        CookieJar jar = jars.get(browser);
+        try {
+            driver.get(configReader.getCookieWarmupLandingUrl());
+            int injected = 0;
+            for (Cookie cookie : jar.cookies) {
+                try {
+                    driver.manage().addCookie(cookie);
+                    injected++;
+                } catch (Exception e) {
+                    logger.debug("Could not inject cookie {}: {}", cookie.getName(), e.getMessage());
+                }
+            }
+            logger.debug("Injected {} of {} NSE session cookies for {}", injected, jar.cookies.size(), browser);
+            return injected > 0;
+        } catch (Exception e) {
+            logger.warn("Could not inject NSE session cookies: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Drop the browser's cookie jar so the next session warms up again
+     * @param browser Browser name
+     */
+    public static void invalidate(String browser) {
+        if (jars.remove(browser) != null) {
+            logger.info("Discarded NSE session cookies for {}", browser);
+        }
+    }
+
+    /**
+     * Check if a fresh cookie jar exists for a browser
+     * @param browser Browser name
+     * @return true if a jar exists and has not expired
+     */
+    public static boolean hasFreshCookies(String browser) {
+        CookieJar jar = jars.get(browser);
+        if (jar == null) {
+            return false;
+        }
+        if (!jar.isFresh()) {
+            jars.remove(browser, jar);
+            logger.info("NSE session cookies for {} expired", browser);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Detect an access-denied page served instead of the requested page
+     * WebDriver does not expose HTTP status codes, so the title and the start
+     * of the body text are checked for the wording of 401/403 block pages
+     * @param driver Driver on the page to check
+     * @return true if the page looks like a block page
+     */
+    public static boolean isBlockPage(WebDriver driver) {
+        try {
+            String text = String.valueOf(((JavascriptExecutor) driver).executeScript(
+                    "return document.title + '\\n' + (document.body ? document.body.innerText.substring(0, 500) : '');"))
+                    .toLowerCase();
+            for (String marker : BLOCK_PAGE_MARKERS) {
+                if (text.contains(marker)) {
+                    return true;
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Could not check for a block page: {}", e.getMessage());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,171 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Background watchdog for sessions that tests are currently using
+ * A session is considered failed when its browser process has exited, or
+ * when its test thread has been inside a single WebDriver command for longer
+ * than the stall threshold and a ping with a short timeout gets no answer.
+ * The stuck thread's stack is logged and the session is handed to the
+ * replacement action, which kills it and launches a fresh one.
+ */
+class SessionWatchdog {
+
+    private static final Logger logger = LogManager.getLogger(SessionWatchdog.class);
+    private static final ConfigReader configReader = ConfigReader.getInstance();
+    private static final String COMMAND_EXECUTOR_CLASS = "org.openqa.selenium.remote.RemoteWebDriver";
+    private static final String COMMAND_EXECUTOR_METHOD = "execute";
+
+    private final Supplier<Collection<ManagedSession>> sessions;
+    private final Consumer<ManagedSession> replaceAction;
+    private final Runnable housekeeping;
+    private final Map<ManagedSession, Long> inCommandSince = new ConcurrentHashMap<>();
+    private final Map<ManagedSession, Boolean> handled = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService workers;
+
+    /**
+     * Create a watchdog
+     * @param sessions Live sessions to watch
+     * @param replaceAction Kills a failed session and launches its replacement
+     * @param housekeeping Run after every check, e.g. to quit unused standby sessions
+     */
+    SessionWatchdog(Supplier<Collection<ManagedSession>> sessions, Consumer<ManagedSession> replaceAction,
+                    Runnable housekeeping) {
+        this.sessions = sessions;
+        this.replaceAction = replaceAction;
+        this.housekeeping = housekeeping;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "session-watchdog"));
+        this.workers = Executors.newCachedThreadPool(runnable -> daemon(runnable, "session-watchdog-worker"));
+    }
+
+    /**
+     * Start periodic checks
+     */
+    void start() {
+        long interval = configReader.getWatchdogIntervalSeconds();
+        scheduler.scheduleWithFixedDelay(this::checkAll, interval, interval, TimeUnit.SECONDS);
+        logger.info("Session watchdog started (interval: {} s, stall threshold: {} s)",
+                interval, configReader.getWatchdogStallSeconds());
+    }
+
+    /**
+     * Stop periodic checks
+     */
+    void stop() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void checkAll() {
+        for (ManagedSession session : sessions.get()) {
+            try {
+                Thread owner = session.getOwnerThread();
+                if (owner == null || session.isReleased() || handled.containsKey(session)) {
+                    inCommandSince.remove(session);
+                    continue;
+                }
+                String problem = diagnose(session, owner);
+                if (problem != null) {
+                    handle(session, owner, problem);
+                }
+            } catch (Exception e) {
+                logger.debug("Watchdog check of {} failed: {}", session, e.getMessage());
+            }
+        }
+        inCommandSince.keySet().retainAll(sessions.get());
+        handled.keySet().retainAll(sessions.get());
+        try {
+            housekeeping.run();
+        } catch (Exception e) {
+            logger.debug("Watchdog housekeeping failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Decide whether a session in use has died or stalled
+     * @return Problem description, or null if the session looks fine
+     */
+    private String diagnose(ManagedSession session, Thread owner) {
+        BrowserProcessTree processTree = session.getProcessTree();
+        if (processTree != null && !processTree.isBrowserAlive()) {
+            return "browser process exited";
+        }
+
+        if (!isInWebDriverCommand(owner)) {
+            inCommandSince.remove(session);
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long since = inCommandSince.computeIfAbsent(session, key -> now);
+        long stalledSeconds = TimeUnit.MILLISECONDS.toSeconds(now - since);
+        if (stalledSeconds < configReader.getWatchdogStallSeconds()) {
+            return null;
+        }
+        if (ping(session)) {
+            // Slow but responsive: start measuring again
+            inCommandSince.put(session, now);
+            return null;
+        }
+        return "WebDriver command hung for " + stalledSeconds + " s and the session does not answer";
+    }
+
+    private boolean isInWebDriverCommand(Thread thread) {
+        for (StackTraceElement frame : thread.getStackTrace()) {
+            if (COMMAND_EXECUTOR_CLASS.equals(frame.getClassName())
+                    && COMMAND_EXECUTOR_METHOD.equals(frame.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean ping(ManagedSession session) {
+        Future<Boolean> future = workers.submit(session::isHealthy);
+        try {
+            return future.get(configReader.getWatchdogPingTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            future.cancel(true);
+            return false;
+        }
+    }
+
+    private void handle(ManagedSession session, Thread owner, String problem) {
+        handled.put(session, Boolean.TRUE);
+        inCommandSince.remove(session);
+
+        StringBuilder stack = new StringBuilder();
+        for (StackTraceElement frame : owner.getStackTrace()) {
+            stack.append("\n\tat ").append(frame);
+        }
+        logger.error("Session watchdog: {} used by thread '{}' failed: {}. Replacing it. Thread stack:{}",
+                session, owner.getName(), problem, stack);
+
+        workers.submit(() -> {
+            try {
+                replaceAction.accept(session);
+            } catch (Exception e) {
+                logger.warn("Could not replace failed {}: {}", session, e.getMessage());
+            }
+        });
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
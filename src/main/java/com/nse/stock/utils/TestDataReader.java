@@ -18,7 +18,7 @@ import java.util.List;
 public class TestDataReader {
     
     private static final Logger logger = LogManager.getLogger(TestDataReader.class);
-    private static TestDataReader instance;
+    private static volatile TestDataReader instance;
     private ObjectMapper objectMapper;
     private JsonNode stocksData;
     
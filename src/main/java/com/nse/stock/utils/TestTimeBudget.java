@@ -0,0 +1,172 @@
+package com.nse.stock.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deadline of the test running on the current thread
+ * Waits and locator lookups draw their timeout from the remaining budget
+ * instead of the full explicit wait, and record how long they took. Once
+ * the budget is gone, the next wait throws TimeBudgetExceededException
+ * with the timing breakdown instead of waiting. Without a budget on the
+ * thread every timeout is left as requested.
+ */
+public class TestTimeBudget {
+
+    private static final Logger logger = LogManager.getLogger(TestTimeBudget.class);
+    private static final ThreadLocal<TestTimeBudget> currentBudget = new ThreadLocal<>();
+    private static final int BREAKDOWN_STEPS = 8;
+
+    private final String testName;
+    private final long budgetMillis;
+    private final long startTime;
+    // Step name -> {total ms, count}, in first-seen order
+    private final Map<String, long[]> steps = new LinkedHashMap<>();
+    private String exhaustedAt;
+
+    private TestTimeBudget(String testName, long budgetMillis) {
+        this.testName = testName;
+        this.budgetMillis = budgetMillis;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Start a budget for the test running on this thread
+     * @param testName Test name (for messages)
+     * @param budgetMillis Budget in milliseconds
+     */
+    public static void start(String testName, long budgetMillis) {
+        currentBudget.set(new TestTimeBudget(testName, budgetMillis));
+        logger.debug("Time budget of {} ms started for {}", budgetMillis, testName);
+    }
+
+    /**
+     * End the budget of this thread
+     * @return The ended budget, or null if none was running
+     */
+    public static TestTimeBudget end() {
+        TestTimeBudget budget = currentBudget.get();
+        currentBudget.remove();
+        return budget;
+    }
+
+    /**
+     * Get the budget of this thread
+     * @return Running budget, or null if the test has none
+     */
+    public static TestTimeBudget current() {
+        return currentBudget.get();
+    }
+
+    /**
+     * Bound a wait in seconds by the remaining budget
+     * @param step Wait about to start
+     * @param timeoutSeconds Requested timeout
+     * @return Requested timeout, or the remaining budget rounded up if that is shorter
+     * @throws TimeBudgetExceededException if the budget is used up
+     */
+    public static int clampSeconds(String step, int timeoutSeconds) {
+        long millis = clampMillis(step, timeoutSeconds * 1000L);
+        return (int) Math.max(1, (millis + 999) / 1000);
+    }
+
+    /**
+     * Bound a wait in milliseconds by the remaining budget
+     * @param step Wait about to start
+     * @param timeoutMillis Requested timeout
+     * @return Requested timeout, or the remaining budget if that is shorter
+     * @throws TimeBudgetExceededException if the budget is used up
+     */
+    public static long clampMillis(String step, long timeoutMillis) {
+        TestTimeBudget budget = currentBudget.get();
+        if (budget == null) {
+            return timeoutMillis;
+        }
+        long remaining = budget.getRemainingMillis();
+        if (remaining <= 0) {
+            if (budget.exhaustedAt == null) {
+                budget.exhaustedAt = step;
+            }
+            throw new TimeBudgetExceededException(budget.describe("before " + step));
+        }
+        return Math.min(timeoutMillis, remaining);
+    }
+
+    /**
+     * Add the time a step took to this thread's breakdown
+     * @param step Step name
+     * @param stepStartTime When the step started (System.currentTimeMillis)
+     */
+    public static void record(String step, long stepStartTime) {
+        TestTimeBudget budget = currentBudget.get();
+        if (budget == null) {
+            return;
+        }
+        long[] totals = budget.steps.computeIfAbsent(step, key -> new long[2]);
+        totals[0] += System.currentTimeMillis() - stepStartTime;
+        totals[1]++;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long getElapsedMillis() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    public long getRemainingMillis() {
+        return budgetMillis - getElapsedMillis();
+    }
+
+    /**
+     * Check if a wait was refused because the budget was used up
+     * @return true if the test was cut short
+     */
+    public boolean wasCutShort() {
+        return exhaustedAt != null;
+    }
+
+    /**
+     * Describe the budget and where the time went
+     * @param when Moment the description refers to, e.g. "before <step>"
+     * @return Message with the timing breakdown
+     */
+    public String describe(String when) {
+        return String.format("Time budget of %d ms for %s used up %s (elapsed %d ms). Breakdown: %s",
+                budgetMillis, testName, when, getElapsedMillis(), formatBreakdown());
+    }
+
+    /**
+     * Format the slowest steps and the time spent outside recorded steps
+     * @return Breakdown, slowest first
+     */
+    public String formatBreakdown() {
+        List<Map.Entry<String, long[]>> sorted = new ArrayList<>(steps.entrySet());
+        sorted.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+
+        StringBuilder breakdown = new StringBuilder();
+        long recorded = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            long[] totals = sorted.get(i).getValue();
+            recorded += totals[0];
+            if (i < BREAKDOWN_STEPS) {
+                breakdown.append(sorted.get(i).getKey()).append(" ").append(totals[0]).append(" ms");
+                if (totals[1] > 1) {
+                    breakdown.append(" (").append(totals[1]).append("x)");
+                }
+                breakdown.append("; ");
+            }
+        }
+        if (sorted.size() > BREAKDOWN_STEPS) {
+            breakdown.append(sorted.size() - BREAKDOWN_STEPS).append(" more step(s); ");
+        }
+        breakdown.append("other ").append(Math.max(0, getElapsedMillis() - recorded)).append(" ms");
+        return breakdown.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.nse.stock.utils;
+
+/**
+ * Thrown when a test has used up its time budget
+ * The message carries the timing breakdown of the test so far
+ */
+public class TimeBudgetExceededException extends RuntimeException {
+
+    public TimeBudgetExceededException(String message) {
+        super(message);
+    }
+
+    public TimeBudgetExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -3,8 +3,10 @@ package com.nse.stock.utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -14,6 +16,9 @@ import java.util.List;
 /**
  * Utility class for WebDriver wait operations
  * Provides common wait methods for better test stability
+ * With wait.backend=async the conditions are evaluated inside the page and
+ * return as soon as they hold; otherwise WebDriverWait polls over the wire.
+ * Timeouts are cut to what is left of the running test's TestTimeBudget.
  */
 public class WaitUtils {
     
@@ -38,14 +43,20 @@ public class WaitUtils {
      * @return WebElement if found and clickable
      */
     public static WebElement waitForElementToBeClickable(WebDriver driver, By locator, int timeoutSeconds) {
+        String step = "clickable " + locator;
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            WebElement element = useInBrowserWait(driver, locator)
+                    ? InBrowserWait.element(driver, locator, InBrowserWait.CLICKABLE, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.elementToBeClickable(locator));
             logger.debug("Element found and clickable: {}", locator);
             return element;
         } catch (Exception e) {
             logger.error("Element not clickable within {} seconds: {}", timeoutSeconds, locator);
             throw e;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
@@ -67,14 +78,68 @@ public class WaitUtils {
      * @return WebElement if found and visible
      */
     public static WebElement waitForElementToBeVisible(WebDriver driver, By locator, int timeoutSeconds) {
+        String step = "visible " + locator;
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            WebElement element = useInBrowserWait(driver, locator)
+                    ? InBrowserWait.element(driver, locator, InBrowserWait.VISIBLE, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator));
             logger.debug("Element found and visible: {}", locator);
             return element;
         } catch (Exception e) {
             logger.error("Element not visible within {} seconds: {}", timeoutSeconds, locator);
             throw e;
+        } finally {
+            TestTimeBudget.record(step, startTime);
+        }
+    }
+    
+    /**
+     * Wait for any element matching a locator to be visible
+     * Unlike waitForElementToBeVisible, matches after the first one count too,
+     * so an XPath union is satisfied by whichever branch renders
+     * @param driver WebDriver instance
+     * @param locator Element locator
+     * @return First visible matching element
+     */
+    public static WebElement waitForAnyElementToBeVisible(WebDriver driver, By locator) {
+        return waitForAnyElementToBeVisible(driver, locator, configReader.getExplicitWait());
+    }
+    
+    /**
+     * Wait for any element matching a locator to be visible with custom timeout
+     * @param driver WebDriver instance
+     * @param locator Element locator
+     * @param timeoutSeconds Timeout in seconds
+     * @return First visible matching element
+     */
+    public static WebElement waitForAnyElementToBeVisible(WebDriver driver, By locator, int timeoutSeconds) {
+        String step = "any visible " + locator;
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
+        try {
+            WebElement element = useInBrowserWait(driver, locator)
+                    ? InBrowserWait.element(driver, locator, InBrowserWait.ANY_VISIBLE, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(webDriver -> {
+                        for (WebElement candidate : webDriver.findElements(locator)) {
+                            try {
+                                if (candidate.isDisplayed()) {
+                                    return candidate;
+                                }
+                            } catch (StaleElementReferenceException e) {
+                                // Replaced while checking, the next poll finds its successor
+                            }
+                        }
+                        return null;
+                    });
+            logger.debug("Element found and visible: {}", locator);
+            return element;
+        } catch (Exception e) {
+            logger.error("No element visible within {} seconds: {}", timeoutSeconds, locator);
+            throw e;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
@@ -96,14 +161,20 @@ public class WaitUtils {
      * @return WebElement if found
      */
     public static WebElement waitForElementToBePresent(WebDriver driver, By locator, int timeoutSeconds) {
+        String step = "present " + locator;
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            WebElement element = useInBrowserWait(driver, locator)
+                    ? InBrowserWait.element(driver, locator, InBrowserWait.PRESENT, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.presenceOfElementLocated(locator));
             logger.debug("Element found in DOM: {}", locator);
             return element;
         } catch (Exception e) {
             logger.error("Element not present within {} seconds: {}", timeoutSeconds, locator);
             throw e;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
@@ -125,14 +196,20 @@ public class WaitUtils {
      * @return List of WebElements if found
      */
     public static List<WebElement> waitForElementsToBePresent(WebDriver driver, By locator, int timeoutSeconds) {
+        String step = "all present " + locator;
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            List<WebElement> elements = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+            List<WebElement> elements = useInBrowserWait(driver, locator)
+                    ? InBrowserWait.elements(driver, locator, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
             logger.debug("Elements found in DOM: {} (count: {})", locator, elements.size());
             return elements;
         } catch (Exception e) {
             logger.error("Elements not present within {} seconds: {}", timeoutSeconds, locator);
             throw e;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
@@ -156,14 +233,24 @@ public class WaitUtils {
      * @return true if text is present
      */
     public static boolean waitForTextToBePresentInElement(WebDriver driver, By locator, String text, int timeoutSeconds) {
+        String step = "text '" + text + "' in " + locator;
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            boolean result = wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            boolean result = useInBrowserWait(driver, locator)
+                    ? InBrowserWait.condition(driver, locator, InBrowserWait.TEXT, text, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            if (!result) {
+                logger.error("Text '{}' not found in element within {} seconds: {}", text, timeoutSeconds, locator);
+                return false;
+            }
             logger.debug("Text '{}' found in element: {}", text, locator);
             return result;
         } catch (Exception e) {
             logger.error("Text '{}' not found in element within {} seconds: {}", text, timeoutSeconds, locator);
             return false;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
@@ -185,14 +272,24 @@ public class WaitUtils {
      * @return true if element is no longer visible
      */
     public static boolean waitForElementToDisappear(WebDriver driver, By locator, int timeoutSeconds) {
+        String step = "invisible " + locator;
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            boolean result = wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            boolean result = useInBrowserWait(driver, locator)
+                    ? InBrowserWait.condition(driver, locator, InBrowserWait.INVISIBLE, null, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            if (!result) {
+                logger.error("Element still visible after {} seconds: {}", timeoutSeconds, locator);
+                return false;
+            }
             logger.debug("Element disappeared: {}", locator);
             return result;
         } catch (Exception e) {
             logger.error("Element still visible after {} seconds: {}", timeoutSeconds, locator);
             return false;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
@@ -214,14 +311,24 @@ public class WaitUtils {
      * @return true if title contains text
      */
     public static boolean waitForTitleToContain(WebDriver driver, String title, int timeoutSeconds) {
+        String step = "title contains '" + title + "'";
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            boolean result = wait.until(ExpectedConditions.titleContains(title));
+            boolean result = useInBrowserWait(driver, null)
+                    ? InBrowserWait.condition(driver, null, InBrowserWait.TITLE, title, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.titleContains(title));
+            if (!result) {
+                logger.error("Page title does not contain '{}' within {} seconds", title, timeoutSeconds);
+                return false;
+            }
             logger.debug("Page title contains: {}", title);
             return result;
         } catch (Exception e) {
             logger.error("Page title does not contain '{}' within {} seconds", title, timeoutSeconds);
             return false;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
@@ -243,17 +350,56 @@ public class WaitUtils {
      * @return true if URL contains text
      */
     public static boolean waitForUrlToContain(WebDriver driver, String urlPart, int timeoutSeconds) {
+        String step = "URL contains '" + urlPart + "'";
+        timeoutSeconds = TestTimeBudget.clampSeconds(step, timeoutSeconds);
+        long startTime = System.currentTimeMillis();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeoutSeconds);
-            boolean result = wait.until(ExpectedConditions.urlContains(urlPart));
+            boolean result = useInBrowserWait(driver, null)
+                    ? InBrowserWait.condition(driver, null, InBrowserWait.URL, urlPart, timeoutSeconds)
+                    : new WebDriverWait(driver, timeoutSeconds).until(ExpectedConditions.urlContains(urlPart));
+            if (!result) {
+                logger.error("URL does not contain '{}' within {} seconds", urlPart, timeoutSeconds);
+                return false;
+            }
             logger.debug("URL contains: {}", urlPart);
             return result;
         } catch (Exception e) {
             logger.error("URL does not contain '{}' within {} seconds", urlPart, timeoutSeconds);
             return false;
+        } finally {
+            TestTimeBudget.record(step, startTime);
         }
     }
     
+    /**
+     * Wait for any condition with the explicit wait, bounded by the test time budget
+     * An ExpectedCondition can only be polled from the client, so this ignores
+     * wait.backend; prefer the locator-based waits above where one fits
+     * @param driver WebDriver instance
+     * @param step Name of the wait in the timing breakdown
+     * @param condition Condition to wait for
+     * @return Value of the condition once it holds
+     */
+    public static <V> V waitUntil(WebDriver driver, String step, ExpectedCondition<V> condition) {
+        int timeoutSeconds = TestTimeBudget.clampSeconds(step, configReader.getExplicitWait());
+        long startTime = System.currentTimeMillis();
+        try {
+            return new WebDriverWait(driver, timeoutSeconds).until(condition);
+        } finally {
+            TestTimeBudget.record(step, startTime);
+        }
+    }
+    
+    /**
+     * Decide whether a wait runs in the page or polls from the client
+     * @param driver WebDriver instance
+     * @param locator Element locator, or null for title/URL waits
+     * @return true if wait.backend is async and the wait can be evaluated in the page
+     */
+    private static boolean useInBrowserWait(WebDriver driver, By locator) {
+        return "async".equalsIgnoreCase(configReader.getWaitBackend().trim()) && InBrowserWait.supports(driver, locator);
+    }
+    
     /**
      * Custom wait with polling
      * @param driver WebDriver instance
@@ -261,8 +407,9 @@ public class WaitUtils {
      * @param pollingIntervalSeconds Polling interval in seconds
      */
     public static void customWait(WebDriver driver, int timeoutSeconds, int pollingIntervalSeconds) {
+        long sleepMillis = TestTimeBudget.clampMillis("custom wait", pollingIntervalSeconds * 1000L);
         try {
-            Thread.sleep(pollingIntervalSeconds * 1000L);
+            Thread.sleep(sleepMillis);
             logger.debug("Custom wait completed: {} seconds", pollingIntervalSeconds);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -275,8 +422,9 @@ public class WaitUtils {
      * @param seconds Seconds to wait
      */
     public static void sleep(int seconds) {
+        long sleepMillis = TestTimeBudget.clampMillis("sleep", seconds * 1000L);
         try {
-            Thread.sleep(seconds * 1000L);
+            Thread.sleep(sleepMillis);
             logger.debug("Sleep wait completed: {} seconds", seconds);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
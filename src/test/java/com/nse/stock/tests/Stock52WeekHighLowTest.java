@@ -155,9 +155,8 @@ public class Stock52WeekHighLowTest extends BaseTest {
             logger.info("Checking 52-week data availability for: {}", testStock.getSymbol());
             
             try {
-                // Navigate and search
-                homePage.navigateToNSE();
-                homePage.searchStock(testStock.getSymbol());
+                // Open the quote page directly with the shared session cookies
+                homePage.openQuotePage(testStock.getSymbol());
                 stockDetailsPage.waitForPageLoad();
                 
                 // Extract 52-week data
@@ -11,7 +11,10 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Test class for calculating and verifying profit/loss of stocks
@@ -159,17 +162,29 @@ public class StockProfitLossTest extends BaseTest {
         int lossCount = 0;
         int breakEvenCount = 0;
         
+        // Load every quote page first; with snapshot extraction the parsing overlaps the next page load
+        Map<StockInfo, Future<StockInfo>> extractions = new LinkedHashMap<>();
         for (StockInfo testStock : stocks) {
-            logger.info("Processing stock: {}", testStock.getSymbol());
+            logger.info("Loading stock: {}", testStock.getSymbol());
             
             try {
-                // Navigate and search
-                homePage.navigateToNSE();
-                homePage.searchStock(testStock.getSymbol());
+                // Open the quote page directly with the shared session cookies
+                homePage.openQuotePage(testStock.getSymbol());
                 stockDetailsPage.waitForPageLoad();
+                extractions.put(testStock, stockDetailsPage.extractStockInfoAsync());
                 
+            } catch (Exception e) {
+                logger.error("Error loading stock {}: {}", testStock.getSymbol(), e.getMessage());
+            }
+        }
+        
+        for (Map.Entry<StockInfo, Future<StockInfo>> extraction : extractions.entrySet()) {
+            StockInfo testStock = extraction.getKey();
+            logger.info("Processing stock: {}", testStock.getSymbol());
+            
+            try {
                 // Extract and calculate
-                StockInfo currentInfo = stockDetailsPage.extractStockInfo();
+                StockInfo currentInfo = extraction.getValue().get();
                 currentInfo.setPurchasePrice(testStock.getPurchasePrice());
                 
                 // Count profit/loss status